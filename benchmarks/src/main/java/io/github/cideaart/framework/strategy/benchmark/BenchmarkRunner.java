@@ -0,0 +1,29 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行基准测试，默认附带{@link GCProfiler}输出分配速率
+ * 参数与JMH命令行一致，如`java -jar target/benchmarks.jar Dispatch -f 2`
+ *
+ * @author CIdea
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class);
+        if (!System.getProperty("java.specification.version").startsWith("1.")) {
+            // JDK9+ CGLIB生成代理类需要开放java.lang
+            builder.jvmArgsAppend("--add-opens", "java.base/java.lang=ALL-UNNAMED");
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import io.github.cideaart.framework.strategy.benchmark.fixture.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次分派开销：直接调用、分支命中、主干兜底、多routeKey、接口API与类API
+ *
+ * @author CIdea
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Benchmark
+    public int directCall(StrategyState state) {
+        return state.directPayService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    public int interfaceBranchHit(StrategyState state) {
+        return state.payService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    public int interfaceMasterFallThrough(StrategyState state) {
+        return state.payService.pay(Fixtures.UNKNOWN_KEY, 1);
+    }
+
+    @Benchmark
+    public int classBranchHit(StrategyState state) {
+        return state.orderService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    public int classMasterFallThrough(StrategyState state) {
+        return state.orderService.pay(Fixtures.UNKNOWN_KEY, 1);
+    }
+
+    @Benchmark
+    public int multiKeyBranchHit(StrategyState state) {
+        return state.multiKeyPayService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    public int multiKeyMasterFallThrough(StrategyState state) {
+        return state.multiKeyPayService.pay(Fixtures.UNKNOWN_KEY, 1);
+    }
+}
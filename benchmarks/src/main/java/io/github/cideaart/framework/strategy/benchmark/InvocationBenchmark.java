@@ -0,0 +1,65 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import io.github.cideaart.framework.strategy.benchmark.fixture.AlipayPayService;
+import io.github.cideaart.framework.strategy.benchmark.fixture.Fixtures;
+import io.github.cideaart.framework.strategy.benchmark.fixture.IPayService;
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.InvocationFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 执行对象的调用开销：直接调用、反射、MethodHandle、LambdaMetafactory，不经过代理和路由
+ *
+ * @author CIdea
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InvocationBenchmark {
+
+    private IPayService bean;
+
+    private Invocation reflection;
+
+    private Invocation methodHandle;
+
+    private Invocation lambda;
+
+    private Object[] args;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        bean = new AlipayPayService();
+        Method method = AlipayPayService.class.getMethod("pay", String.class, int.class);
+        reflection = InvocationFactory.REFLECTION.create(method, bean);
+        methodHandle = InvocationFactory.METHOD_HANDLE.create(method, bean);
+        lambda = InvocationFactory.LAMBDA.create(method, bean);
+        args = new Object[]{Fixtures.BRANCH_KEY, 1};
+    }
+
+    @Benchmark
+    public int directCall() {
+        return bean.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    public Object reflection() throws Throwable {
+        return reflection.invoke(args);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return methodHandle.invoke(args);
+    }
+
+    @Benchmark
+    public Object lambda() throws Throwable {
+        return lambda.invoke(args);
+    }
+}
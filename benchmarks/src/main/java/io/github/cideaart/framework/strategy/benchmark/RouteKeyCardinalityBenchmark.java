@@ -0,0 +1,60 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import io.github.cideaart.framework.strategy.benchmark.fixture.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调用方routeKey基数的影响，首个routeKey命中分支，其余均走主干
+ *
+ * @author CIdea
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteKeyCardinalityBenchmark {
+
+    @State(Scope.Thread)
+    public static class Keys {
+
+        @Param({"1", "100", "10000"})
+        public int keyCount;
+
+        public String[] keys;
+
+        public int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            keys = new String[keyCount];
+            keys[0] = Fixtures.BRANCH_KEY;
+            for (int i = 1; i < keyCount; i++) {
+                keys[i] = "tenant-" + i;
+            }
+        }
+
+        public String nextKey() {
+            String key = keys[next];
+            next = next + 1 == keys.length ? 0 : next + 1;
+            return key;
+        }
+    }
+
+    @Benchmark
+    public int interfaceApi(StrategyState state, Keys keys) {
+        return state.payService.pay(keys.nextKey(), 1);
+    }
+
+    @Benchmark
+    public int classApi(StrategyState state, Keys keys) {
+        return state.orderService.pay(keys.nextKey(), 1);
+    }
+
+    @Benchmark
+    public int multiKeyRouter(StrategyState state, Keys keys) {
+        return state.multiKeyPayService.pay(keys.nextKey(), 1);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import io.github.cideaart.framework.strategy.benchmark.fixture.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程并发分派的扩展性
+ *
+ * @author CIdea
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public int threads1(StrategyState state) {
+        return state.payService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int threads4(StrategyState state) {
+        return state.payService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int threadsMax(StrategyState state) {
+        return state.payService.pay(Fixtures.BRANCH_KEY, 1);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int threadsMaxMasterFallThrough(StrategyState state) {
+        return state.payService.pay(Fixtures.UNKNOWN_KEY, 1);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.cideaart.framework.strategy.benchmark;
+
+import io.github.cideaart.framework.strategy.benchmark.fixture.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 共享的Spring容器和代理实例
+ *
+ * @author CIdea
+ */
+@State(Scope.Benchmark)
+public class StrategyState {
+
+    public ConfigurableApplicationContext context;
+
+    /**
+     * 接口API代理
+     */
+    public IPayService payService;
+
+    /**
+     * 直接调用的分支实例
+     */
+    public IPayService directPayService;
+
+    /**
+     * 多routeKey路由的接口API代理
+     */
+    public IMultiKeyPayService multiKeyPayService;
+
+    /**
+     * 类API代理
+     */
+    public OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = Fixtures.start();
+        payService = context.getBean(IPayService.class);
+        directPayService = context.getBean(AlipayPayService.class);
+        multiKeyPayService = context.getBean(IMultiKeyPayService.class);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
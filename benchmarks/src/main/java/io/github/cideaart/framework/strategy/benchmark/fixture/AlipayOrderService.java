@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.benchmark.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch(Fixtures.BRANCH_KEY)
+public class AlipayOrderService extends OrderService {
+
+    @Override
+    public int pay(String routeKey, int amount) {
+        return amount + 1;
+    }
+}
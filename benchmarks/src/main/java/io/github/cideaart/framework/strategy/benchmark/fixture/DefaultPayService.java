@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.benchmark.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultPayService implements IPayService {
+
+    @Override
+    public int pay(String routeKey, int amount) {
+        return amount;
+    }
+}
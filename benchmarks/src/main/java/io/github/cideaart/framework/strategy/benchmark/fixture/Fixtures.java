@@ -0,0 +1,37 @@
+package io.github.cideaart.framework.strategy.benchmark.fixture;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * 基准测试使用的Spring容器
+ *
+ * @author CIdea
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan
+public class Fixtures {
+
+    /**
+     * 已注册分支的routeKey
+     */
+    public static final String BRANCH_KEY = "alipay";
+
+    /**
+     * 未注册的routeKey，走主干
+     */
+    public static final String UNKNOWN_KEY = "unknown";
+
+    public static ConfigurableApplicationContext start(String... args) {
+        SpringApplication application = new SpringApplication(Fixtures.class);
+        application.setLogStartupInfo(false);
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "--logging.level.root=warn";
+        System.arraycopy(args, 0, arguments, 1, args.length);
+        return application.run(arguments);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.cideaart.framework.strategy.benchmark.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategyRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 返回多个routeKey，首个routeKey不会命中分支
+ *
+ * @author CIdea
+ */
+@Component
+public class MultiKeyRouter implements IStrategyRouter {
+
+    @Override
+    public String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return new String[]{Fixtures.UNKNOWN_KEY, (String) args[0]};
+    }
+}
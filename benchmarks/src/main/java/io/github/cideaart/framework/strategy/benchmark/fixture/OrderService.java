@@ -0,0 +1,18 @@
+package io.github.cideaart.framework.strategy.benchmark.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * 类API，代理通过CGLIB继承生成
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+@StrategyMaster
+public class OrderService {
+
+    public int pay(String routeKey, int amount) {
+        return amount;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.cideaart.framework.strategy.config;
+
+import io.github.cideaart.framework.strategy.core.metrics.MicrometerStrategyMetrics;
+import io.github.cideaart.framework.strategy.core.support.StrategyMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * classpath存在Micrometer时记录分派指标，容器中无{@link MeterRegistry}时不记录
+ *
+ * @author CIdea
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "cidea.strategy.metrics", name = "enabled", matchIfMissing = true)
+public class StrategyMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(StrategyMetrics.class)
+    public StrategyMetrics strategyMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new MicrometerStrategyMetrics(meterRegistryProvider);
+    }
+}
@@ -0,0 +1,295 @@
+package io.github.cideaart.framework.strategy.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 策略配置
+ *
+ * @author CIdea
+ */
+@ConfigurationProperties(prefix = "cidea.strategy")
+public class StrategyProperties {
+
+    /**
+     * 延迟模式，注册表和分派表在API首次调用时构建，接口API使用JDK动态代理，不生成CGLIB代理类
+     */
+    private boolean lazy = false;
+
+    /**
+     * 分支bean名称: routeKey，替换该bean注解声明的routeKey
+     * 配置变更（Spring Cloud EnvironmentChangeEvent）后重新生效，如`cidea.strategy.routes.branchB=t1,t2`
+     */
+    private Map<String, List<String>> routes = new LinkedHashMap<>();
+
+    /**
+     * routeKey: 分支限制，同一routeKey在各API共用，与分支上的{@code @StrategyLimit}同时生效
+     * 如`cidea.strategy.limits.t1.permits-per-second=100`
+     */
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    /**
+     * 缓存配置
+     */
+    private final Cache cache = new Cache();
+
+    /**
+     * 指标配置
+     */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * 异步分派配置
+     */
+    private final Async async = new Async();
+
+    /**
+     * 限流超时调用的执行器配置
+     */
+    private final LimitTimeout limitTimeout = new LimitTimeout();
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public Map<String, List<String>> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, List<String>> routes) {
+        this.routes = routes;
+    }
+
+    public Map<String, Limit> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Limit> limits) {
+        this.limits = limits;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public LimitTimeout getLimitTimeout() {
+        return limitTimeout;
+    }
+
+    public static class Cache {
+
+        /**
+         * 每个API方法最多缓存的routeKey数量，超出后淘汰低频routeKey
+         */
+        private int maximumSize = 1024;
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * classpath存在Micrometer时是否记录分派指标
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * 默认执行器的bean名称
+         */
+        private String executor;
+
+        /**
+         * 未指定执行器时，JDK 21+是否使用虚拟线程
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * 未使用虚拟线程时，默认线程池的最大线程数
+         */
+        private int maxThreads = 64;
+
+        /**
+         * 默认线程池的等待队列容量，队列满时异步调用以RejectedExecutionException失败
+         */
+        private int queueCapacity = 1024;
+
+        public String getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(String executor) {
+            this.executor = executor;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * 设置了超时的限流调用在独立的执行器中执行，与异步分派互不占用线程；
+     * 超时的分支被中断后若仍未结束会继续占用线程，直到分支返回
+     */
+    public static class LimitTimeout {
+
+        /**
+         * 执行器的bean名称
+         */
+        private String executor;
+
+        /**
+         * 未指定执行器时，JDK 21+是否使用虚拟线程
+         */
+        private boolean virtualThreads = true;
+
+        /**
+         * 未使用虚拟线程时，默认线程池的最大线程数，线程用尽时不排队，调用按超出限制处理
+         */
+        private int maxThreads = 64;
+
+        public String getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(String executor) {
+            this.executor = executor;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+    }
+
+    public static class Limit {
+
+        /**
+         * 最大并发调用数，0为不限制
+         */
+        private int maxConcurrentCalls;
+
+        /**
+         * 每秒允许的调用数，0为不限制
+         */
+        private double permitsPerSecond;
+
+        /**
+         * 令牌桶容量
+         */
+        private int burst = 1;
+
+        /**
+         * 调用超时，0为不限制
+         */
+        private Duration timeout = Duration.ZERO;
+
+        /**
+         * 超出限制时是否改由主干执行
+         */
+        private boolean fallbackToMaster;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public boolean isFallbackToMaster() {
+            return fallbackToMaster;
+        }
+
+        public void setFallbackToMaster(boolean fallbackToMaster) {
+            this.fallbackToMaster = fallbackToMaster;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.cideaart.framework.strategy.core;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 数字路由，routeKey为int，对应{@link StrategyBranch#codes()}
+ * 代理按code下标分派，不计算hash
+ *
+ * @author CIdea
+ */
+public interface IStrategyCodeRouter extends IStrategyRouter {
+
+    /**
+     * @return 路由code，未注册的code走主干
+     */
+    int getRouteCode(Object obj, Method method, Object[] args, MethodProxy methodProxy);
+
+    @Override
+    default String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return new String[]{String.valueOf(getRouteCode(obj, method, args, methodProxy))};
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.cideaart.framework.strategy.core;
+
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.core.GenericTypeResolver;
+
+import java.lang.reflect.Method;
+
+/**
+ * 枚举路由，routeKey为枚举常量，分支按{@link Enum#name()}注册
+ * 代理按{@link Enum#ordinal()}下标分派，不计算hash
+ *
+ * @author CIdea
+ */
+public interface IStrategyEnumRouter<E extends Enum<E>> extends IStrategyRouter {
+
+    /**
+     * @return 路由枚举，返回null时走主干
+     */
+    E getRouteEnum(Object obj, Method method, Object[] args, MethodProxy methodProxy);
+
+    /**
+     * 枚举类型，默认从泛型参数解析
+     */
+    @SuppressWarnings("unchecked")
+    default Class<E> getEnumType() {
+        Class<?> enumType = GenericTypeResolver.resolveTypeArgument(getClass(), IStrategyEnumRouter.class);
+        if (enumType == null) {
+            throw new IllegalStateException("can not resolve enum type of router " + getClass().getName());
+        }
+        return (Class<E>) enumType;
+    }
+
+    @Override
+    default String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        E routeEnum = getRouteEnum(obj, method, args, methodProxy);
+        return routeEnum == null ? null : new String[]{routeEnum.name()};
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.cideaart.framework.strategy.core;
+
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 单routeKey路由，代理直接调用{@link #getRouteKey}，不创建数组
+ *
+ * @author CIdea
+ */
+public interface IStrategySingleKeyRouter extends IStrategyRouter {
+
+    /**
+     * @return routeKey，返回null时走主干
+     */
+    String getRouteKey(Object obj, Method method, Object[] args, MethodProxy methodProxy);
+
+    @Override
+    default String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        String routeKey = getRouteKey(obj, method, args, methodProxy);
+        return routeKey == null ? null : new String[]{routeKey};
+    }
+}
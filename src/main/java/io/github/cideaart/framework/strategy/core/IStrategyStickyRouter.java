@@ -0,0 +1,19 @@
+package io.github.cideaart.framework.strategy.core;
+
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 权重分流的固定选择，routeKey对应多个带权重的分支时，相同hash固定选择同一分支
+ * 与其它路由接口一起实现，未实现时按权重随机选择
+ *
+ * @author CIdea
+ */
+public interface IStrategyStickyRouter extends IStrategyRouter {
+
+    /**
+     * @return 调用方属性的hash，如用户id
+     */
+    int getStickyHash(Object obj, Method method, Object[] args, MethodProxy methodProxy);
+}
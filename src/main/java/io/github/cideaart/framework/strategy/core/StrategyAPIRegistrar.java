@@ -9,6 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
@@ -20,12 +22,18 @@ import java.util.stream.Stream;
 
 /**
  * 根据{@link StrategyAPI}和{@link StrategyMaster}及其上一级接口、父类的路径自动扫描
+ * 所有注解的路径合并到同一个{@link StrategyScannerConfigurer}
  * @author CIdea
  */
 public class StrategyAPIRegistrar implements ImportBeanDefinitionRegistrar {
 
     private Logger log = LoggerFactory.getLogger(StrategyAPIRegistrar.class);
 
+    /**
+     * 共用的扫描器bean名称
+     */
+    static final String SCANNER_BEAN_NAME = StrategyScannerConfigurer.class.getName();
+
     private static final Set<Object> metadataSet = Collections.synchronizedSet(new HashSet<>());
 
     @Override
@@ -46,32 +54,46 @@ public class StrategyAPIRegistrar implements ImportBeanDefinitionRegistrar {
             }
         }
         log.info("import packages: {}", StringUtils.collectionToCommaDelimitedString(packages));
+        registerScanner(registry, packages);
+    }
+
+    /**
+     * 注册或合并共用的扫描器，{@link StrategyScannerRegistrar}同样经此注册
+     * 所有注解共用一个扫描器，包路径合并为最小集合，每个包只扫描一次
+     *
+     * @param packages 包路径
+     */
+    static void registerScanner(BeanDefinitionRegistry registry, Collection<String> packages) {
+        List<String> packagesToUse = new ArrayList<>();
+        if (registry.containsBeanDefinition(SCANNER_BEAN_NAME)) {
+            BeanDefinition definition = registry.getBeanDefinition(SCANNER_BEAN_NAME);
+            PropertyValue basePackage = definition.getPropertyValues().getPropertyValue("basePackage");
+            if (basePackage != null) {
+                packagesToUse.addAll(StringUtils.commaDelimitedListToSet((String) basePackage.getValue()));
+            }
+            packagesToUse.addAll(packages);
+            definition.getPropertyValues().add("basePackage",
+                    StringUtils.collectionToCommaDelimitedString(StrategyScannerConfigurer.reducePackages(packagesToUse)));
+            return;
+        }
 
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(StrategyScannerConfigurer.class);
         builder.addPropertyValue("annotationClass", StrategyAPI.class);
-        builder.addPropertyValue("basePackage", StringUtils.collectionToCommaDelimitedString(packages));
+        builder.addPropertyValue("basePackage",
+                StringUtils.collectionToCommaDelimitedString(StrategyScannerConfigurer.reducePackages(packages)));
         builder.addPropertyValue("nameGenerator", new StrategyBeanNameGenerator());
         BeanWrapper beanWrapper = new BeanWrapperImpl(StrategyScannerConfigurer.class);
         Stream.of(beanWrapper.getPropertyDescriptors())
                 .filter(x -> x.getName().equals("lazyInitialization")).findAny()
                 .ifPresent(x -> builder.addPropertyValue("lazyInitialization", "${mybatis.lazy-initialization:false}"));
-        registry.registerBeanDefinition(StrategyScannerConfigurer.class.getName() + "@" + className, builder.getBeanDefinition());
+        registry.registerBeanDefinition(SCANNER_BEAN_NAME, builder.getBeanDefinition());
     }
 
     private void addPackage(List<String> packages, String className) {
-        String next = className.substring(0, className.lastIndexOf('.'));
-        for (String pkg : new ArrayList<>(packages)) {
-            if (pkg.contains(next)) {
-                // next范围更大，移除已有的再添加
-                packages.remove(pkg);
-                break;
-            }
-            if (next.contains(pkg)) {
-                // pkg范围更大，不添加next
-                return;
-            }
-        }
-        packages.add(next);
+        packages.add(className.substring(0, className.lastIndexOf('.')));
+        List<String> reduced = StrategyScannerConfigurer.reducePackages(packages);
+        packages.clear();
+        packages.addAll(reduced);
     }
 
 }
@@ -1,13 +1,10 @@
 package io.github.cideaart.framework.strategy.core;
 
 import io.github.cideaart.framework.strategy.core.annotation.StrategyScan;
-import io.github.cideaart.framework.strategy.core.scanner.StrategyScannerConfigurer;
-import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
-import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
@@ -16,6 +13,7 @@ import java.util.stream.Collectors;
 
 /**
  * {@link StrategyScan}扫描
+ * 包路径合并到{@link StrategyAPIRegistrar}共用的扫描器
  * @author CIdea
  */
 public class StrategyScannerRegistrar implements ImportBeanDefinitionRegistrar {
@@ -27,12 +25,10 @@ public class StrategyScannerRegistrar implements ImportBeanDefinitionRegistrar {
         if (annoAttrs == null) {
             return;
         }
-        registerBeanDefinitions(annotationMetadata, annoAttrs, registry, generateBaseBeanName(annotationMetadata, 0));
+        registerBeanDefinitions(annotationMetadata, annoAttrs, registry);
     }
 
-    void registerBeanDefinitions(AnnotationMetadata annotationMetadata, AnnotationAttributes annoAttrs, BeanDefinitionRegistry registry, String beanName) {
-
-        BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(StrategyScannerConfigurer.class);
+    void registerBeanDefinitions(AnnotationMetadata annotationMetadata, AnnotationAttributes annoAttrs, BeanDefinitionRegistry registry) {
 
         // 以下都是获取注解信息，并进行相应设置
         // Class<? extends Annotation> annotationClass = annoAttrs.getClass("annotationClass");
@@ -46,7 +42,7 @@ public class StrategyScannerRegistrar implements ImportBeanDefinitionRegistrar {
         // }
 
         // 待扫描包路径集合
-        Set<String> basePackages = new HashSet<>();
+        Set<String> basePackages = new LinkedHashSet<>();
         basePackages.addAll(
                 Arrays.stream(annoAttrs.getStringArray("value")).filter(StringUtils::hasText).collect(Collectors.toList()));
         basePackages.addAll(Arrays.stream(annoAttrs.getStringArray("basePackages")).filter(StringUtils::hasText)
@@ -54,17 +50,10 @@ public class StrategyScannerRegistrar implements ImportBeanDefinitionRegistrar {
         basePackages.addAll(Arrays.stream(annoAttrs.getClassArray("basePackageClasses")).map(ClassUtils::getPackageName)
                 .collect(Collectors.toList()));
         if (basePackages.size() == 0){
-            Class<?> introspectedClass = ((StandardAnnotationMetadata) annotationMetadata).getIntrospectedClass();
-            String defaultPackageName = introspectedClass.getPackage().getName();
-            basePackages.add(defaultPackageName);
+            basePackages.add(ClassUtils.getPackageName(annotationMetadata.getClassName()));
         }
-        builder.addPropertyValue("basePackage", StringUtils.collectionToCommaDelimitedString(basePackages));
-
-        registry.registerBeanDefinition(beanName, builder.getBeanDefinition());
-    }
-
-    private static String generateBaseBeanName(AnnotationMetadata importingClassMetadata, int index) {
-        return importingClassMetadata.getClassName() + "#" + StrategyScannerRegistrar.class.getSimpleName() + "#" + index;
+        // 与StrategyAPI、StrategyMaster的导入合并到同一个扫描器
+        StrategyAPIRegistrar.registerScanner(registry, basePackages);
     }
 
 }
@@ -28,4 +28,16 @@ public @interface StrategyAPI {
      * 指定策略路由
      */
     Class<? extends IStrategyRouter> router() default IStrategyRouter.class;
+
+    /**
+     * 声明式路由，以方法参数数组为根对象的SpEL表达式，如`[0].tenantId`
+     * 不为空时代替路由获取routeKey，参数标记了{@link StrategyRouteKey}的方法除外
+     */
+    String routeKey() default "";
+
+    /**
+     * 层级routeKey的分隔符（单个字符），如`.`
+     * 不为空时未精确匹配的routeKey按最长前缀匹配分支，如`cn.sh.pudong`依次匹配`cn.sh`、`cn`，路由只需返回最细一级的routeKey
+     */
+    String keySeparator() default "";
 }
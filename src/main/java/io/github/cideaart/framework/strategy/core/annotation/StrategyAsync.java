@@ -0,0 +1,22 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 异步分派，标记在API或API方法上，对返回{@link java.util.concurrent.CompletableFuture}（或其接口）的方法生效
+ * 路由在调用线程完成，分支在执行器中执行，分支返回的future完成后代理返回的future随之完成
+ *
+ * @author CIdea
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyAsync {
+
+    /**
+     * 执行器{@link java.util.concurrent.Executor}的bean名称
+     * 为空时使用`cidea.strategy.async.executor`，未配置时JDK 21+使用虚拟线程，否则使用组件自带的线程池
+     */
+    String executor() default "";
+
+}
@@ -1,5 +1,7 @@
 package io.github.cideaart.framework.strategy.core.annotation;
 
+import io.github.cideaart.framework.strategy.core.IStrategyCodeRouter;
+import io.github.cideaart.framework.strategy.core.IStrategyEnumRouter;
 import io.github.cideaart.framework.strategy.core.IStrategyRouter;
 import org.springframework.cglib.proxy.MethodProxy;
 import org.springframework.stereotype.Service;
@@ -19,10 +21,24 @@ import java.lang.reflect.Method;
 public @interface StrategyBranch {
 
     /**
-     * // TODO CIdea: 支持环境变量占位符{@link org.springframework.beans.factory.annotation.Value}
-     * 路由映射值
+     * 路由映射值，支持`${...}`占位符，占位符解析结果可以是逗号分隔的多个值
+     * 运行时可调整的映射见`cidea.strategy.routes`
      * 对应{@link IStrategyRouter#getRouteKeys(Object, Method, Object[], MethodProxy)}的返回值
+     * 使用{@link IStrategyEnumRouter}时填写枚举常量名
+     * 可使用通配符`*`、`?`，精确匹配优先，多个通配值匹配时{@link StrategyBranchPrimary}分支优先，其次字面字符多的
      */
-    String[] value();
+    String[] value() default {};
+
+    /**
+     * 数字路由映射值，对应{@link IStrategyCodeRouter#getRouteCode(Object, Method, Object[], MethodProxy)}的返回值
+     * 与{@link #value()}共用注册表，code等同于其十进制字符串
+     */
+    int[] codes() default {};
+
+    /**
+     * 分流权重，大于0时与同一routeKey的其它带权重分支按比例分流，如旧实现95、新实现5
+     * 0表示不参与分流
+     */
+    int weight() default 0;
 
 }
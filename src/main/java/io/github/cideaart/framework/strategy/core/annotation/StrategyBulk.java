@@ -0,0 +1,16 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 批量方法，标记在API方法上，供{@link io.github.cideaart.framework.strategy.core.template.StrategyBatchTemplate}按分支分组调用
+ * 方法只有一个{@link java.util.List}参数，返回与入参数量、顺序一致的{@link java.util.List}
+ *
+ * @author CIdea
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyBulk {
+
+}
@@ -0,0 +1,43 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 失败降级与熔断，标记在API上
+ * 分支抛出指定异常时按routeKeys顺序尝试下一个分支，最后由主干执行；每个分支独立熔断，熔断期间直接降级
+ * 仅对预编译分派表内的方法生效，分派表未覆盖的方法和按Reactor Context路由的方法不降级也不熔断；
+ * 返回{@link java.util.concurrent.CompletionStage}的调用在结果完成时计入熔断，结果失败后不再降级
+ *
+ * @author CIdea
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyFallback {
+
+    /**
+     * 触发降级的异常（含子类），其它异常直接抛出且不计入熔断
+     */
+    Class<? extends Throwable>[] value() default Exception.class;
+
+    /**
+     * 熔断的失败率阈值，百分比
+     */
+    int failureRateThreshold() default 50;
+
+    /**
+     * 滑动窗口记录的最近调用次数
+     */
+    int slidingWindowSize() default 20;
+
+    /**
+     * 窗口内调用次数达到该值后才计算失败率
+     */
+    int minimumNumberOfCalls() default 10;
+
+    /**
+     * 熔断持续时间，毫秒，之后放行一次试探调用，成功则恢复
+     */
+    long waitDurationInOpenState() default 10000;
+
+}
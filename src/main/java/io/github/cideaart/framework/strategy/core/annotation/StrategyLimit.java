@@ -0,0 +1,43 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 分支限流，标记在分支类上，分支的所有routeKey、所有方法共用一组限制
+ * 按routeKey限制见`cidea.strategy.limits`
+ *
+ * @author CIdea
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyLimit {
+
+    /**
+     * 最大并发调用数，0为不限制
+     * 返回{@link java.util.concurrent.CompletionStage}的方法在结果完成后才归还
+     */
+    int maxConcurrentCalls() default 0;
+
+    /**
+     * 每秒允许的调用数（令牌桶），0为不限制
+     */
+    double permitsPerSecond() default 0;
+
+    /**
+     * 令牌桶容量，允许的突发调用数
+     */
+    int burst() default 1;
+
+    /**
+     * 调用超时，毫秒，0为不限制
+     * 设置后分支在限流执行器（见`cidea.strategy.limit-timeout`）中执行，调用线程最多等待该时间；异步方法只限制返回future之前的部分
+     */
+    long timeout() default 0;
+
+    /**
+     * 超出限制时是否改由主干执行，否则抛出{@link io.github.cideaart.framework.strategy.core.exception.StrategyRejectedException}
+     */
+    boolean fallbackToMaster() default false;
+
+}
@@ -0,0 +1,26 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存方法结果，标记在API方法上，适用于无副作用的查询方法
+ * 缓存键为(实际执行的分支、方法、参数)，不同分支的结果互不影响；异常不缓存，{@link StrategyAsync}方法不生效
+ *
+ * @author CIdea
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyMemoize {
+
+    /**
+     * 每个分支最多缓存的参数组合数量，超出后淘汰低频条目
+     */
+    int maximumSize() default 1024;
+
+    /**
+     * 过期时间，毫秒，0为不过期
+     */
+    long ttl() default 0;
+
+}
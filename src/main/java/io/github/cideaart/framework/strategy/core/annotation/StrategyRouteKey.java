@@ -0,0 +1,21 @@
+package io.github.cideaart.framework.strategy.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 声明式路由，标记API方法的参数作为routeKey，优先于{@link StrategyAPI#routeKey()}和路由
+ * 每个方法只编译一次为SpEL访问器
+ *
+ * @author CIdea
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrategyRouteKey {
+
+    /**
+     * 参数上的属性路径，如`tenant.id`，为空时使用参数本身
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.core.exception;
+
+/**
+ * 分支已熔断且没有可降级的分支或主干
+ *
+ * @author CIdea
+ */
+public class StrategyCircuitOpenException extends RuntimeException {
+
+    public StrategyCircuitOpenException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.core.exception;
+
+/**
+ * 分支超出并发、速率或超时限制，调用被拒绝
+ *
+ * @author CIdea
+ */
+public class StrategyRejectedException extends RuntimeException {
+
+    public StrategyRejectedException(String message) {
+        super(message);
+    }
+
+}
@@ -1,14 +1,19 @@
 package io.github.cideaart.framework.strategy.core.factory;
 
+import io.github.cideaart.framework.strategy.config.StrategyProperties;
 import io.github.cideaart.framework.strategy.core.proxy.StrategyProxy;
 import org.springframework.beans.factory.*;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.util.ClassUtils;
 
+import java.lang.reflect.Proxy;
+
 import static org.springframework.util.Assert.notNull;
 
 /**
+ * 创建API的路由代理
+ * 延迟模式下bean为延迟初始化，未被依赖的API不创建代理；被依赖时接口API创建JDK动态代理，类API仍需生成CGLIB子类才能注入
  * @author CIdea
  */
 public class StrategyFactoryBean<T> implements InitializingBean, FactoryBean<T>, BeanFactoryAware {
@@ -29,6 +34,10 @@ public class StrategyFactoryBean<T> implements InitializingBean, FactoryBean<T>,
         // 创建代理类
         StrategyProxy proxy = beanFactory.getBeanProvider(StrategyProxy.class).getObject(api);
 
+        if (api.isInterface() && isLazy()) {
+            // 延迟模式下接口使用JDK动态代理，不生成CGLIB代理类
+            return (T) Proxy.newProxyInstance(api.getClassLoader(), new Class[]{api}, proxy);
+        }
         Enhancer enhancer = new Enhancer();
         if(api.isInterface()){
             enhancer.setInterfaces(new Class[]{api});
@@ -44,6 +53,11 @@ public class StrategyFactoryBean<T> implements InitializingBean, FactoryBean<T>,
         return instance;
     }
 
+    private boolean isLazy() {
+        StrategyProperties properties = beanFactory.getBeanProvider(StrategyProperties.class).getIfAvailable();
+        return properties != null && properties.isLazy();
+    }
+
     @Override
     public Class<?> getObjectType() {
         return this.api;
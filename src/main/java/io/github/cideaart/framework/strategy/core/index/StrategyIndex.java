@@ -0,0 +1,157 @@
+package io.github.cideaart.framework.strategy.core.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.SpringProperties;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 编译期生成的策略索引{@link #INDEX_LOCATION}，由{@link StrategyIndexProcessor}写入
+ * 索引只对提供它的jar或class目录生效：扫描器读取这些根目录下的候选类，其它根目录仍扫描classpath
+ * 只用于API代理的扫描，主干和分支由spring注册为bean，{@link io.github.cideaart.framework.strategy.core.support.StrategyRegistry}从容器解析，不读取索引
+ * <p>
+ * 每行一个条目：`candidate 类名`，旧版本写入的其它类型条目忽略
+ * 设置`cidea.strategy.index.ignore=true`（系统属性或spring.properties）可忽略索引
+ *
+ * @author CIdea
+ */
+public class StrategyIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/cidea-strategy.index";
+
+    public static final String IGNORE_INDEX = "cidea.strategy.index.ignore";
+
+    /**
+     * 扫描候选：{@link io.github.cideaart.framework.strategy.core.annotation.StrategyAPI}，
+     * 或上级没有StrategyAPI的{@link io.github.cideaart.framework.strategy.core.annotation.StrategyMaster}
+     */
+    public static final String CANDIDATE = "candidate";
+
+    private static final Logger log = LoggerFactory.getLogger(StrategyIndex.class);
+
+    private static final Map<ClassLoader, Optional<StrategyIndex>> cache = new ConcurrentReferenceHashMap<>();
+
+    /**
+     * 候选类名
+     */
+    private final Set<String> candidates = new LinkedHashSet<>();
+
+    /**
+     * 提供索引的jar或class目录，{@link URL#toExternalForm()}
+     */
+    private final List<String> roots = new ArrayList<>();
+
+    /**
+     * 加载classpath中的所有索引
+     *
+     * @return 不存在索引或已忽略时返回null
+     */
+    public static StrategyIndex load(ClassLoader classLoader) {
+        if (SpringProperties.getFlag(IGNORE_INDEX)) {
+            return null;
+        }
+        ClassLoader classLoaderToUse = classLoader == null ? StrategyIndex.class.getClassLoader() : classLoader;
+        return cache.computeIfAbsent(classLoaderToUse, StrategyIndex::doLoad).orElse(null);
+    }
+
+    private static Optional<StrategyIndex> doLoad(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return Optional.empty();
+            }
+            StrategyIndex index = new StrategyIndex();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (InputStream inputStream = url.openStream()) {
+                    index.read(inputStream);
+                }
+                String location = url.toExternalForm();
+                index.roots.add(location.substring(0, location.length() - INDEX_LOCATION.length()));
+                log.debug("load strategy index: {}", url);
+            }
+            return Optional.of(index);
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to load strategy index from location [" + INDEX_LOCATION + "]", e);
+        }
+    }
+
+    /**
+     * 读取索引，格式见{@link #write}
+     */
+    void read(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+", 3);
+            if (parts.length >= 2 && CANDIDATE.equals(parts[0])) {
+                candidates.add(parts[1]);
+            }
+        }
+    }
+
+    void add(String className) {
+        candidates.add(className);
+    }
+
+    /**
+     * 写出索引
+     */
+    String write() {
+        StringBuilder builder = new StringBuilder("# generated by ").append(StrategyIndexProcessor.class.getName()).append('\n');
+        for (String className : new TreeSet<>(candidates)) {
+            builder.append(CANDIDATE).append(' ').append(className).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 移除类的条目，增量编译时由新结果覆盖
+     */
+    void remove(String className) {
+        candidates.remove(className);
+    }
+
+    /**
+     * 获取包下的候选类
+     *
+     * @param basePackage 包路径，包含子包
+     * @return 类名
+     */
+    public Set<String> getCandidates(String basePackage) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String className : candidates) {
+            if (className.startsWith(basePackage + ".")) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 资源是否位于提供索引的jar或class目录中，这些资源不需要扫描
+     *
+     * @param url 资源路径
+     */
+    public boolean isIndexed(URL url) {
+        String location = url.toExternalForm();
+        for (String root : roots) {
+            if (location.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
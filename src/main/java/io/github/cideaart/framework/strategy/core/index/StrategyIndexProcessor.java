@@ -0,0 +1,148 @@
+package io.github.cideaart.framework.strategy.core.index;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+
+/**
+ * 编译期生成{@link StrategyIndex}
+ * 记录扫描候选，启动时由扫描器直接读取，不再扫描本模块的classpath
+ * 需在编译插件中显式启用：
+ * <pre>
+ * &lt;annotationProcessorPaths&gt; 加入本starter
+ * &lt;annotationProcessors&gt; io.github.cideaart.framework.strategy.core.index.StrategyIndexProcessor
+ * </pre>
+ * 增量编译时与已有索引合并，本次编译的类以新结果为准
+ *
+ * @author CIdea
+ */
+@SupportedAnnotationTypes("*")
+public class StrategyIndexProcessor extends AbstractProcessor {
+
+    private static final String API_NAME = StrategyAPI.class.getName();
+
+    private static final String MASTER_NAME = StrategyMaster.class.getName();
+
+    /**
+     * 类名: 是否为扫描候选
+     */
+    private final Map<String, Boolean> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collect(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        // 与StrategyAPITypeFilter一致：上级没有StrategyAPI的主干作为API扫描
+        boolean candidate = hasAnnotation(type, API_NAME) || hasAnnotation(type, MASTER_NAME) && !hasApiSuperType(type);
+        entries.put(className, candidate);
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getModifiers().contains(Modifier.STATIC) || enclosed.getKind().isInterface()) {
+                collect(enclosed);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        StrategyIndex index = new StrategyIndex();
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", StrategyIndex.INDEX_LOCATION);
+            try (InputStream inputStream = existing.openInputStream()) {
+                index.read(inputStream);
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            // 首次编译
+        } catch (IOException | IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "unable to read existing strategy index: " + e);
+        }
+        for (Map.Entry<String, Boolean> entry : entries.entrySet()) {
+            index.remove(entry.getKey());
+            if (entry.getValue()) {
+                index.add(entry.getKey());
+            }
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", StrategyIndex.INDEX_LOCATION);
+            try (OutputStream outputStream = file.openOutputStream()) {
+                outputStream.write(index.write().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "unable to write strategy index: " + e);
+        }
+    }
+
+    /**
+     * 父类或接口（含间接）上是否有StrategyAPI
+     */
+    private boolean hasApiSuperType(TypeElement type) {
+        List<TypeMirror> superTypes = new ArrayList<>(type.getInterfaces());
+        superTypes.add(type.getSuperclass());
+        for (TypeMirror superType : superTypes) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            TypeElement superElement = (TypeElement) ((DeclaredType) superType).asElement();
+            if (hasAnnotation(superElement, API_NAME) || hasApiSuperType(superElement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 直接或作为元注解标注
+     */
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return hasAnnotation(element, annotationName, new HashSet<>());
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName, Set<String> visited) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotationType.getQualifiedName().toString();
+            if (name.equals(annotationName)) {
+                return true;
+            }
+            if (!name.startsWith("java.") && visited.add(name) && hasAnnotation(annotationType, annotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
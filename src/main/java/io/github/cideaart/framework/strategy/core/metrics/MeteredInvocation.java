@@ -0,0 +1,45 @@
+package io.github.cideaart.framework.strategy.core.metrics;
+
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 记录耗时的执行对象，正常返回和抛出异常分别记录，Timer预先注册
+ *
+ * @author CIdea
+ */
+public class MeteredInvocation extends Invocation {
+
+    private final Invocation delegate;
+
+    private final Timer timer;
+
+    private final Timer errorTimer;
+
+    /**
+     * @param timer      正常返回的耗时
+     * @param errorTimer 抛出异常的耗时
+     */
+    public MeteredInvocation(Invocation delegate, Timer timer, Timer errorTimer) {
+        super(delegate.getMethod(), delegate.getBean());
+        this.delegate = delegate;
+        this.timer = timer;
+        this.errorTimer = errorTimer;
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = delegate.invoke(args);
+        } catch (Throwable e) {
+            errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+}
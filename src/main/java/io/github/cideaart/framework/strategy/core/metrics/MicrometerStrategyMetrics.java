@@ -0,0 +1,95 @@
+package io.github.cideaart.framework.strategy.core.metrics;
+
+import io.github.cideaart.framework.strategy.core.support.CacheStats;
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.StrategyCache;
+import io.github.cideaart.framework.strategy.core.support.StrategyMetrics;
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+
+/**
+ * 基于Micrometer的分派指标
+ * 标签只取API、方法、分支类，基数由注册的分支决定，与路由返回的routeKey无关
+ *
+ * <ul>
+ *     <li>strategy.invocation：分支、主干执行耗时，标签api、method、branch、outcome（branch/master）、status（success/error）</li>
+ *     <li>strategy.registry.branches：注册的routeKey数量</li>
+ *     <li>strategy.cache.size、strategy.cache.hits、strategy.cache.misses、strategy.cache.evictions：{@link StrategyCache}容量和统计</li>
+ * </ul>
+ *
+ * @author CIdea
+ */
+public class MicrometerStrategyMetrics implements StrategyMetrics {
+
+    public static final String INVOCATION = "strategy.invocation";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private volatile MeterRegistry meterRegistry;
+
+    public MicrometerStrategyMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Invocation decorate(Class<?> api, Method method, Object bean, boolean master, Invocation invocation) {
+        MeterRegistry meterRegistry = getMeterRegistry();
+        if (meterRegistry == null) {
+            return invocation;
+        }
+        Tags tags = Tags.of("api", api.getName(),
+                "method", method.getName(),
+                "branch", AopUtils.getTargetClass(bean).getName(),
+                "outcome", master ? "master" : "branch");
+        return new MeteredInvocation(invocation, timer(meterRegistry, tags, "success"), timer(meterRegistry, tags, "error"));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, Tags tags, String status) {
+        return Timer.builder(INVOCATION)
+                .description("strategy branch or master invocation")
+                .tags(tags.and("status", status))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void bind(StrategyRegistry registry) {
+        MeterRegistry meterRegistry = getMeterRegistry();
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("strategy.registry.branches", registry, StrategyRegistry::getBranchCount)
+                .description("registered strategy branch route keys")
+                .register(meterRegistry);
+        Gauge.builder("strategy.cache.size", StrategyCache::branchSize)
+                .tag("cache", "branch")
+                .register(meterRegistry);
+        Gauge.builder("strategy.cache.size", StrategyCache::masterRouteSize)
+                .tag("cache", "masterRoute")
+                .register(meterRegistry);
+        CacheStats stats = StrategyCache.stats();
+        FunctionCounter.builder("strategy.cache.hits", stats, CacheStats::getHitCount).register(meterRegistry);
+        FunctionCounter.builder("strategy.cache.misses", stats, CacheStats::getMissCount).register(meterRegistry);
+        FunctionCounter.builder("strategy.cache.evictions", stats, CacheStats::getEvictionCount).register(meterRegistry);
+        CacheStats patternStats = registry.getPatternStats();
+        FunctionCounter.builder("strategy.pattern.cache.hits", patternStats, CacheStats::getHitCount).register(meterRegistry);
+        FunctionCounter.builder("strategy.pattern.cache.misses", patternStats, CacheStats::getMissCount).register(meterRegistry);
+        FunctionCounter.builder("strategy.pattern.cache.evictions", patternStats, CacheStats::getEvictionCount).register(meterRegistry);
+    }
+
+    private MeterRegistry getMeterRegistry() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry == null) {
+            meterRegistry = meterRegistryProvider.getIfAvailable();
+            this.meterRegistry = meterRegistry;
+        }
+        return meterRegistry;
+    }
+}
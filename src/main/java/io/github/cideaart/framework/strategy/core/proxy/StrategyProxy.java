@@ -1,36 +1,57 @@
 package io.github.cideaart.framework.strategy.core.proxy;
 
+import io.github.cideaart.framework.strategy.core.IStrategyCodeRouter;
+import io.github.cideaart.framework.strategy.core.IStrategyEnumRouter;
 import io.github.cideaart.framework.strategy.core.IStrategyRouter;
+import io.github.cideaart.framework.strategy.core.IStrategySingleKeyRouter;
+import io.github.cideaart.framework.strategy.core.IStrategyStickyRouter;
 import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.exception.StrategyCircuitOpenException;
 import io.github.cideaart.framework.strategy.core.exception.StrategyMasterNotFoundException;
+import io.github.cideaart.framework.strategy.core.reactive.IStrategyReactiveRouter;
+import io.github.cideaart.framework.strategy.core.reactive.ReactiveStrategyDispatcher;
 import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.RouteKeyResolver;
 import io.github.cideaart.framework.strategy.core.support.StrategyCache;
+import io.github.cideaart.framework.strategy.core.support.StrategyCircuitBreaker;
+import io.github.cideaart.framework.strategy.core.support.StrategyDispatchTable;
+import io.github.cideaart.framework.strategy.core.support.StrategyFallbackPolicy;
 import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import io.github.cideaart.framework.strategy.core.support.WeightedInvocation;
 import org.apache.commons.lang3.reflect.MethodUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
  * 路由代理实现
+ * 作为CGLIB代理的{@link MethodInterceptor}，延迟模式下也作为接口JDK动态代理的{@link InvocationHandler}
  *
  * @author CIdea
  */
 @Scope("prototype")
-public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
+public class StrategyProxy implements MethodInterceptor, InvocationHandler, BeanFactoryAware {
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    private static final boolean reactorPresent = ClassUtils.isPresent("reactor.core.publisher.Mono", StrategyProxy.class.getClassLoader());
 
     private final Logger log = LoggerFactory.getLogger(StrategyProxy.class);
 
@@ -46,9 +67,15 @@ public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
 
     private BeanFactory beanFactory;
 
-    @Autowired
-    @Lazy
-    private StrategyRegistry registry;
+    /**
+     * 首次调用时获取，避免启动时循环依赖
+     */
+    private volatile StrategyRegistry registry;
+
+    /**
+     * 分派表、路由及其对应的注册表版本，整体替换，避免并发刷新时旧分派表覆盖新版本
+     */
+    private volatile RoutingState state;
 
     public StrategyProxy(Class<?> api) {
         Assert.notNull(api, "api not be null");
@@ -72,25 +99,231 @@ public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
      */
     @Override
     public Object intercept(Object obj, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-        if (ReflectionUtils.isObjectMethod(method)) {
-            return method.invoke(obj, args);
+        RoutingState state = prepare();
+        StrategyDispatchTable table = state.dispatchTable;
+        // 分派表不含Object的方法，先查表，命中时省去方法判断
+        int index = table.indexOf(method);
+        if (index < 0) {
+            if (ReflectionUtils.isObjectMethod(method)) {
+                // 调用代理类继承的实现，method.invoke(obj)会再次进入代理
+                return methodProxy.invokeSuper(obj, args);
+            }
+            // 不在分派表中的方法，走动态匹配
+            return interceptDynamic(state, obj, method, args, methodProxy);
         }
-        Object masterBean = registry.getMasterBean(api);
-        log.debug("invoke: {}#{}({})", obj.getClass(), method.getName(), Arrays.toString(method.getParameterTypes()));
-        // 获取routeKey。getRouteKeys()是抽象方法，用于重写，提供自定义的获取方案
-        IStrategyRouter router = beanFactory.getBean(routerClass);
-        Assert.notNull(router, "not bean of IStrategyRoute");
+        // 日志参数会创建对象，仅在debug时求值
+        boolean debug = log.isDebugEnabled();
+        if (debug) {
+            log.debug("invoke: {}#{}({})", obj.getClass(), method.getName(), Arrays.toString(method.getParameterTypes()));
+        }
+        Invocation invocationToUse;
+        // 多routeKey路由的routeKeys，降级时按顺序尝试
+        String[] routeKeys = null;
+        RouteKeyResolver routeKeyResolver = table.getRouteKeyResolver(index);
+        ReactiveStrategyDispatcher reactiveDispatcher = state.reactiveDispatcher;
+        if (routeKeyResolver == null && reactiveDispatcher != null && reactiveDispatcher.isReactive(index)) {
+            // 订阅时按Context路由
+            return reactiveDispatcher.dispatch(index, obj, args, methodProxy);
+        }
+        IStrategySingleKeyRouter singleKeyRouter = state.singleKeyRouter;
+        IStrategyCodeRouter codeRouter = state.codeRouter;
+        IStrategyEnumRouter<?> enumRouter = state.enumRouter;
+        if (routeKeyResolver != null) {
+            // 声明式路由
+            String routeKey = routeKeyResolver.resolve(args);
+            if (debug) {
+                log.debug("api = {}, routeKey = {}", api, routeKey);
+            }
+            invocationToUse = table.getBranch(routeKey, index);
+        } else if (codeRouter != null) {
+            int routeCode = codeRouter.getRouteCode(obj, method, args, methodProxy);
+            if (debug) {
+                log.debug("api = {}, routeCode = {}", api, routeCode);
+            }
+            invocationToUse = table.getBranch(routeCode, index);
+        } else if (enumRouter != null) {
+            Enum<?> routeEnum = enumRouter.getRouteEnum(obj, method, args, methodProxy);
+            if (debug) {
+                log.debug("api = {}, routeEnum = {}", api, routeEnum);
+            }
+            if (routeEnum == null) {
+                invocationToUse = null;
+            } else if (routeEnum.getDeclaringClass() == state.enumType) {
+                Invocation[] invocations = state.enumBranches[routeEnum.ordinal()];
+                invocationToUse = invocations == null ? null : invocations[index];
+            } else {
+                // 路由返回了其它枚举类型的常量（如原始类型的路由），ordinal不可用，按名称匹配
+                invocationToUse = table.getBranch(routeEnum.name(), index);
+            }
+        } else if (singleKeyRouter != null) {
+            String routeKey = singleKeyRouter.getRouteKey(obj, method, args, methodProxy);
+            if (debug) {
+                log.debug("api = {}, routeKey = {}", api, routeKey);
+            }
+            invocationToUse = table.getBranch(routeKey, index);
+        } else {
+            routeKeys = getRouteKeys(state, obj, method, args, methodProxy);
+            invocationToUse = table.getBranch(routeKeys, index);
+        }
+        if (invocationToUse instanceof WeightedInvocation) {
+            invocationToUse = select(state, (WeightedInvocation) invocationToUse, obj, method, args, methodProxy);
+        } else if (invocationToUse == null) {
+            if (!table.hasMaster()) {
+                throw new StrategyMasterNotFoundException("strategy `" + api.getName() + "` has not master.");
+            }
+            if (debug) {
+                log.debug("call master service.");
+            }
+            invocationToUse = table.getMaster(index);
+            if (invocationToUse == null) {
+                throw new StrategyMasterNotFoundException(api.getName() + " can access method `" + method.getName() + "`.");
+            }
+        }
+        StrategyFallbackPolicy fallbackPolicy = table.getFallbackPolicy();
+        Object result = fallbackPolicy == null ? invocationToUse.invoke(args)
+                : invokeWithFallback(state, fallbackPolicy, index, routeKeys, invocationToUse, obj, method, args, methodProxy);
+        if (debug) {
+            log.debug("invoke finished.");
+        }
+        return result;
+    }
 
-        String[] routeKeys = router.getRouteKeys(obj, method, args, methodProxy);
-        if (routeKeys == null) {
-            // 默认，避免NPE
-            routeKeys = new String[]{};
+    /**
+     * 执行分支，失败或熔断时按routeKeys顺序降级到下一个分支，最后由主干执行
+     */
+    private Object invokeWithFallback(RoutingState state, StrategyFallbackPolicy fallbackPolicy, int index, String[] routeKeys,
+                                      Invocation invocation, Object obj, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        StrategyDispatchTable table = state.dispatchTable;
+        Invocation master = table.getMaster(index);
+        // 已尝试的分支bean，仅在降级时创建
+        List<Object> triedBeans = null;
+        int keyIndex = 0;
+        Throwable failure = null;
+        Invocation current = invocation;
+        while (current != null) {
+            if (current instanceof WeightedInvocation) {
+                // 熔断按实际执行的分支统计
+                current = select(state, (WeightedInvocation) current, obj, method, args, methodProxy);
+            }
+            boolean isMaster = current == master;
+            StrategyCircuitBreaker circuitBreaker = isMaster ? null : table.getCircuitBreaker(current.getBean());
+            if (circuitBreaker == null || circuitBreaker.tryAcquire()) {
+                try {
+                    Object result = current.invoke(args);
+                    if (circuitBreaker != null) {
+                        if (result instanceof CompletionStage) {
+                            // 异步结果完成时计入熔断，已返回的结果不再降级
+                            recordOnComplete((CompletionStage<?>) result, circuitBreaker, fallbackPolicy);
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    }
+                    return result;
+                } catch (Throwable e) {
+                    if (!fallbackPolicy.isFallbackException(e)) {
+                        // 业务异常说明分支可用，不计入熔断
+                        if (circuitBreaker != null) {
+                            circuitBreaker.onSuccess();
+                        }
+                        throw e;
+                    }
+                    if (circuitBreaker != null) {
+                        circuitBreaker.onFailure();
+                    }
+                    if (isMaster) {
+                        throw e;
+                    }
+                    failure = e;
+                    log.warn("branch failed, fallback. api = {}, bean = {}, error = {}", api.getName(), current.getBean().getClass().getName(), e.toString());
+                }
+            } else if (log.isDebugEnabled()) {
+                log.debug("circuit open, fallback. api = {}, bean = {}", api.getName(), current.getBean().getClass().getName());
+            }
+            if (isMaster) {
+                break;
+            }
+            if (triedBeans == null) {
+                triedBeans = new ArrayList<>(4);
+            }
+            triedBeans.add(current.getBean());
+            current = null;
+            while (routeKeys != null && keyIndex < routeKeys.length) {
+                Invocation candidate = table.getBranch(routeKeys[keyIndex++], index);
+                if (candidate != null && !containsBean(triedBeans, candidate.getBean())) {
+                    current = candidate;
+                    break;
+                }
+            }
+            if (current == null) {
+                current = master;
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
-        log.debug("api = {}, routeKeys = {}", api, Arrays.toString(routeKeys));
+        throw new StrategyCircuitOpenException("strategy `" + api.getName() + "` circuit open and no fallback for method `" + table.getMethod(index).getName() + "`.");
+    }
+
+    /**
+     * 选择权重组中的分支，有{@link IStrategyStickyRouter}时按粘性hash选择
+     */
+    private static Invocation select(RoutingState state, WeightedInvocation weighted, Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        IStrategyStickyRouter stickyRouter = state.stickyRouter;
+        return stickyRouter == null ? weighted.next() : weighted.selectSticky(stickyRouter.getStickyHash(obj, method, args, methodProxy));
+    }
+
+    private static void recordOnComplete(CompletionStage<?> stage, StrategyCircuitBreaker circuitBreaker, StrategyFallbackPolicy fallbackPolicy) {
+        stage.whenComplete((value, e) -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause != null && fallbackPolicy.isFallbackException(cause)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        });
+    }
+
+    private static boolean containsBean(List<Object> beans, Object bean) {
+        for (Object candidate : beans) {
+            if (candidate == bean) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * JDK动态代理入口，路由收到的{@link MethodProxy}为null
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (ReflectionUtils.isEqualsMethod(method)) {
+            return proxy == args[0];
+        }
+        if (ReflectionUtils.isHashCodeMethod(method)) {
+            return System.identityHashCode(proxy);
+        }
+        if (ReflectionUtils.isToStringMethod(method)) {
+            return api.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+        return intercept(proxy, method, args == null ? EMPTY_ARGS : args, null);
+    }
+
+    /**
+     * 动态匹配分支，用于分派表未覆盖的方法
+     */
+    private Object interceptDynamic(RoutingState state, Object obj, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        // 匹配期间注册表变更时不写缓存，避免缓存旧快照的结果
+        long matchVersion = registry.getVersion();
+        Object masterBean = registry.getMasterBean(api);
+        if (log.isDebugEnabled()) {
+            log.debug("invoke: {}#{}({})", obj.getClass(), method.getName(), Arrays.toString(method.getParameterTypes()));
+        }
+        String[] routeKeys = getRouteKeys(state, obj, method, args, methodProxy);
         // 待执行bean和method的封装对象
         // 尝试获取缓存
         Invocation invocationToUse = StrategyCache.getBranch(routeKeys, api, method);
-        if (invocationToUse == null) {
+        if (invocationToUse == null && !StrategyCache.isMasterRoute(routeKeys, api, method)) {
             // 无缓存，尝试匹配branch
             for (String routeKey : routeKeys) {
                 if (routeKey == null) {
@@ -106,11 +339,17 @@ public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
                     log.info("not found methodToUse.");
                     continue;
                 }
-                invocationToUse = new Invocation(methodToUse, beanToUse);
+                invocationToUse = registry.createInvocation(api, method, methodToUse, beanToUse, false);
                 log.info("find branch, api = {}, routeKey = {}, bean = {}", api, routeKey, beanToUse.getClass().getName());
-                StrategyCache.cacheBranch(routeKey, api, method, invocationToUse);
+                if (registry.getVersion() == matchVersion) {
+                    StrategyCache.cacheBranch(routeKey, api, method, invocationToUse);
+                }
                 break;
             }
+            if (invocationToUse == null && registry.getVersion() == matchVersion) {
+                // 记录未匹配结果，相同routeKeys不再重复匹配
+                StrategyCache.cacheMasterRoute(routeKeys, api, method);
+            }
         }
         if (invocationToUse == null) {
             if (masterBean == null) {
@@ -125,8 +364,10 @@ public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
                 if (methodToUse == null) {
                     throw new StrategyMasterNotFoundException(api.getName() + " can access method `" + method.getName() + "`.");
                 }
-                invocationToUse = new Invocation(methodToUse, masterBean);
-                StrategyCache.cacheMaster(api, method, invocationToUse);
+                invocationToUse = registry.createInvocation(api, method, methodToUse, masterBean, true);
+                if (registry.getVersion() == matchVersion) {
+                    StrategyCache.cacheMaster(api, method, invocationToUse);
+                }
             }
         }
 
@@ -135,6 +376,117 @@ public class StrategyProxy implements MethodInterceptor, BeanFactoryAware {
         return result;
     }
 
+    private String[] getRouteKeys(RoutingState state, Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        IStrategyRouter router = state.router;
+        Assert.notNull(router, "not bean of IStrategyRoute");
+        // 获取routeKey。getRouteKeys()是抽象方法，用于重写，提供自定义的获取方案
+        String[] routeKeys = router.getRouteKeys(obj, method, args, methodProxy);
+        if (routeKeys == null) {
+            // 默认，避免NPE
+            routeKeys = new String[]{};
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("api = {}, routeKeys = {}", api, Arrays.toString(routeKeys));
+        }
+        return routeKeys;
+    }
+
+    /**
+     * 注册表版本变化时重新获取分派表和路由，路由bean不再每次调用时查找
+     * 先读版本再读分派表，并发刷新时写入的旧状态版本号也是旧的，下次调用会再次刷新
+     */
+    private RoutingState prepare() {
+        StrategyRegistry registry = this.registry;
+        if (registry == null) {
+            registry = beanFactory.getBean(StrategyRegistry.class);
+            this.registry = registry;
+        }
+        long currentVersion = registry.getVersion();
+        RoutingState state = this.state;
+        if (state != null && state.version == currentVersion) {
+            return state;
+        }
+        // 声明式路由的API可以不注册路由bean，未指定路由且容器中有多个路由时同样不使用路由
+        IStrategyRouter router = beanFactory.getBeanProvider(routerClass).getIfUnique();
+        state = new RoutingState(currentVersion, registry.getDispatchTable(api), router);
+        this.state = state;
+        return state;
+    }
+
+    /**
+     * 路由状态（不可变），与注册表版本一一对应
+     */
+    private static final class RoutingState {
+
+        private final long version;
+
+        /**
+         * 预编译分派表
+         */
+        private final StrategyDispatchTable dispatchTable;
+
+        /**
+         * 路由实例
+         */
+        private final IStrategyRouter router;
+
+        /**
+         * 单routeKey路由实例，路由未实现{@link IStrategySingleKeyRouter}时为null
+         */
+        private final IStrategySingleKeyRouter singleKeyRouter;
+
+        /**
+         * 数字路由实例，路由未实现{@link IStrategyCodeRouter}时为null
+         */
+        private final IStrategyCodeRouter codeRouter;
+
+        /**
+         * 枚举路由实例，路由未实现{@link IStrategyEnumRouter}时为null
+         */
+        private final IStrategyEnumRouter<?> enumRouter;
+
+        /**
+         * 枚举路由的枚举类型，路由未实现{@link IStrategyEnumRouter}时为null
+         */
+        private final Class<?> enumType;
+
+        /**
+         * 枚举路由的分派表，ordinal: 按方法下标排列的分支执行对象
+         */
+        private final Invocation[][] enumBranches;
+
+        /**
+         * 权重分流的固定选择，路由未实现{@link IStrategyStickyRouter}时为null
+         */
+        private final IStrategyStickyRouter stickyRouter;
+
+        /**
+         * Reactor分派，路由未实现{@link IStrategyReactiveRouter}时为null
+         */
+        private final ReactiveStrategyDispatcher reactiveDispatcher;
+
+        private RoutingState(long version, StrategyDispatchTable table, IStrategyRouter router) {
+            this.version = version;
+            this.dispatchTable = table;
+            this.router = router;
+            this.singleKeyRouter = router instanceof IStrategySingleKeyRouter ? (IStrategySingleKeyRouter) router : null;
+            this.codeRouter = router instanceof IStrategyCodeRouter ? (IStrategyCodeRouter) router : null;
+            this.stickyRouter = router instanceof IStrategyStickyRouter ? (IStrategyStickyRouter) router : null;
+            if (router instanceof IStrategyEnumRouter) {
+                IStrategyEnumRouter<?> enumRouter = (IStrategyEnumRouter<?>) router;
+                this.enumRouter = enumRouter;
+                this.enumType = enumRouter.getEnumType();
+                this.enumBranches = table.getEnumBranches(enumRouter.getEnumType());
+            } else {
+                this.enumRouter = null;
+                this.enumType = null;
+                this.enumBranches = null;
+            }
+            this.reactiveDispatcher = reactorPresent && router instanceof IStrategyReactiveRouter
+                    ? new ReactiveStrategyDispatcher((IStrategyReactiveRouter) router, table) : null;
+        }
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
         this.beanFactory = beanFactory;
@@ -0,0 +1,43 @@
+package io.github.cideaart.framework.strategy.core.reactive;
+
+import io.github.cideaart.framework.strategy.core.IStrategyRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Method;
+
+/**
+ * Reactor路由，返回{@link reactor.core.publisher.Mono}、{@link reactor.core.publisher.Flux}的方法在订阅时按订阅者Context获取routeKey
+ * 其它方法仍使用{@link #getRouteKeys(Object, Method, Object[], MethodProxy)}，默认走主干
+ *
+ * @author CIdea
+ */
+public interface IStrategyReactiveRouter extends IStrategyRouter {
+
+    /**
+     * 订阅时调用，不应阻塞
+     *
+     * @param context 订阅者Context，如租户、地域
+     * @param method  代理方法
+     * @param args    参数
+     * @return routeKeys，返回null或未匹配分支时走主干
+     */
+    String[] getRouteKeys(ContextView context, Method method, Object[] args);
+
+    /**
+     * 权重分流的固定选择，订阅时调用，相同hash固定选择同一分支
+     *
+     * @param context 订阅者Context，如用户id
+     * @param method  代理方法
+     * @param args    参数
+     * @return hash，返回null时按{@link io.github.cideaart.framework.strategy.core.IStrategyStickyRouter}（如实现）选择，否则按权重随机选择
+     */
+    default Integer getStickyHash(ContextView context, Method method, Object[] args) {
+        return null;
+    }
+
+    @Override
+    default String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return null;
+    }
+}
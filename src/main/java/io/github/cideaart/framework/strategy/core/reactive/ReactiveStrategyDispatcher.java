@@ -0,0 +1,292 @@
+package io.github.cideaart.framework.strategy.core.reactive;
+
+import io.github.cideaart.framework.strategy.core.IStrategyStickyRouter;
+import io.github.cideaart.framework.strategy.core.exception.StrategyCircuitOpenException;
+import io.github.cideaart.framework.strategy.core.exception.StrategyMasterNotFoundException;
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.StrategyCircuitBreaker;
+import io.github.cideaart.framework.strategy.core.support.StrategyDispatchTable;
+import io.github.cideaart.framework.strategy.core.support.StrategyFallbackPolicy;
+import io.github.cideaart.framework.strategy.core.support.WeightedInvocation;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cglib.proxy.MethodProxy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reactor分派，仅在classpath存在Reactor且路由实现{@link IStrategyReactiveRouter}时由代理创建
+ * 返回{@link Mono}、{@link Flux}的方法延迟到订阅时按订阅者Context路由，再订阅分支返回的publisher，全程不阻塞
+ * 权重分流、降级和熔断与同步调用一致，降级只发生在publisher发出首个元素之前
+ *
+ * @author CIdea
+ */
+public class ReactiveStrategyDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveStrategyDispatcher.class);
+
+    private static final byte NONE = 0;
+
+    private static final byte MONO = 1;
+
+    private static final byte FLUX = 2;
+
+    private final IStrategyReactiveRouter router;
+
+    private final StrategyDispatchTable table;
+
+    /**
+     * 按方法下标排列的返回类型
+     */
+    private final byte[] returnTypes;
+
+    public ReactiveStrategyDispatcher(IStrategyReactiveRouter router, StrategyDispatchTable table) {
+        this.router = router;
+        this.table = table;
+        this.returnTypes = new byte[table.getMethodCount()];
+        for (int i = 0; i < returnTypes.length; i++) {
+            Class<?> returnType = table.getMethod(i).getReturnType();
+            if (Mono.class.isAssignableFrom(returnType)) {
+                returnTypes[i] = MONO;
+            } else if (Flux.class.isAssignableFrom(returnType)) {
+                returnTypes[i] = FLUX;
+            }
+        }
+    }
+
+    /**
+     * 方法是否按订阅者Context路由
+     */
+    public boolean isReactive(int index) {
+        return returnTypes[index] != NONE;
+    }
+
+    /**
+     * @param index       方法下标
+     * @param obj         代理对象
+     * @param args        参数
+     * @param methodProxy 代理方法，JDK动态代理时为null
+     * @return 订阅时路由的Mono或Flux
+     */
+    public Object dispatch(int index, Object obj, Object[] args, MethodProxy methodProxy) {
+        if (returnTypes[index] == MONO) {
+            return Mono.deferContextual(context -> Mono.from(invoke(context, index, obj, args, methodProxy)));
+        }
+        return Flux.deferContextual(context -> invoke(context, index, obj, args, methodProxy));
+    }
+
+    private Publisher<Object> invoke(ContextView context, int index, Object obj, Object[] args, MethodProxy methodProxy) {
+        try {
+            String[] routeKeys = router.getRouteKeys(context, table.getMethod(index), args);
+            Invocation invocation = table.getBranch(routeKeys, index);
+            if (invocation == null) {
+                invocation = getMaster(index);
+            }
+            StrategyFallbackPolicy fallbackPolicy = table.getFallbackPolicy();
+            if (fallbackPolicy != null) {
+                return new Attempt(context, fallbackPolicy, index, routeKeys, obj, args, methodProxy).run(invocation);
+            }
+            if (invocation instanceof WeightedInvocation) {
+                invocation = select(context, (WeightedInvocation) invocation, obj, index, args, methodProxy);
+            }
+            return toPublisher(invocation, invocation.invoke(args));
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    private Invocation getMaster(int index) {
+        if (!table.hasMaster()) {
+            throw new StrategyMasterNotFoundException("strategy `" + table.getApi().getName() + "` has not master.");
+        }
+        Invocation master = table.getMaster(index);
+        if (master == null) {
+            throw new StrategyMasterNotFoundException(table.getApi().getName() + " can access method `" + table.getMethod(index).getName() + "`.");
+        }
+        return master;
+    }
+
+    /**
+     * 选择权重组中的分支，依次按Context、{@link IStrategyStickyRouter}的粘性hash选择，都没有时按权重随机
+     */
+    private Invocation select(ContextView context, WeightedInvocation weighted, Object obj, int index, Object[] args, MethodProxy methodProxy) {
+        Method method = table.getMethod(index);
+        Integer hash = router.getStickyHash(context, method, args);
+        if (hash != null) {
+            return weighted.selectSticky(hash);
+        }
+        if (router instanceof IStrategyStickyRouter) {
+            return weighted.selectSticky(((IStrategyStickyRouter) router).getStickyHash(obj, method, args, methodProxy));
+        }
+        return weighted.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Publisher<Object> toPublisher(Invocation invocation, Object result) {
+        if (result == null) {
+            return Mono.empty();
+        }
+        if (!(result instanceof Publisher)) {
+            // 注册时已校验返回类型，这里只可能是分支运行时返回了其它对象
+            throw new IllegalStateException("strategy `" + table.getApi().getName() + "` bean `" + invocation.getBean().getClass().getName()
+                    + "` returned " + result.getClass().getName() + " instead of a Publisher");
+        }
+        return (Publisher<Object>) result;
+    }
+
+    /**
+     * 一次订阅的降级过程，按routeKeys顺序尝试分支，最后由主干执行
+     */
+    private final class Attempt {
+
+        private final ContextView context;
+
+        private final StrategyFallbackPolicy fallbackPolicy;
+
+        private final int index;
+
+        private final String[] routeKeys;
+
+        private final Object obj;
+
+        private final Object[] args;
+
+        private final MethodProxy methodProxy;
+
+        private final Invocation master;
+
+        private int keyIndex;
+
+        /**
+         * 已尝试的分支bean，仅在降级时创建
+         */
+        private List<Object> triedBeans;
+
+        private Throwable failure;
+
+        Attempt(ContextView context, StrategyFallbackPolicy fallbackPolicy, int index, String[] routeKeys,
+                Object obj, Object[] args, MethodProxy methodProxy) {
+            this.context = context;
+            this.fallbackPolicy = fallbackPolicy;
+            this.index = index;
+            this.routeKeys = routeKeys;
+            this.obj = obj;
+            this.args = args;
+            this.methodProxy = methodProxy;
+            this.master = table.getMaster(index);
+        }
+
+        Publisher<Object> run(Invocation current) {
+            while (current != null) {
+                if (current instanceof WeightedInvocation) {
+                    // 熔断按实际执行的分支统计
+                    current = select(context, (WeightedInvocation) current, obj, index, args, methodProxy);
+                }
+                boolean isMaster = current == master;
+                StrategyCircuitBreaker circuitBreaker = isMaster ? null : table.getCircuitBreaker(current.getBean());
+                if (circuitBreaker == null || circuitBreaker.tryAcquire()) {
+                    Publisher<Object> publisher;
+                    try {
+                        publisher = toPublisher(current, current.invoke(args));
+                    } catch (Throwable e) {
+                        if (!onError(circuitBreaker, current, e) || isMaster) {
+                            return Mono.error(e);
+                        }
+                        current = next(current);
+                        continue;
+                    }
+                    return observe(publisher, circuitBreaker, current, isMaster);
+                } else if (log.isDebugEnabled()) {
+                    log.debug("circuit open, fallback. api = {}, bean = {}", table.getApi().getName(), current.getBean().getClass().getName());
+                }
+                if (isMaster) {
+                    break;
+                }
+                current = next(current);
+            }
+            if (failure != null) {
+                return Mono.error(failure);
+            }
+            return Mono.error(new StrategyCircuitOpenException("strategy `" + table.getApi().getName()
+                    + "` circuit open and no fallback for method `" + table.getMethod(index).getName() + "`."));
+        }
+
+        /**
+         * 首个信号计入熔断，首个元素之前的失败降级到下一个分支
+         */
+        private Publisher<Object> observe(Publisher<Object> publisher, StrategyCircuitBreaker circuitBreaker, Invocation current, boolean isMaster) {
+            AtomicBoolean signaled = new AtomicBoolean();
+            return Flux.from(publisher)
+                    .doOnNext(value -> onSuccess(signaled, circuitBreaker))
+                    .doOnComplete(() -> onSuccess(signaled, circuitBreaker))
+                    .onErrorResume(e -> {
+                        if (!signaled.compareAndSet(false, true) || !onError(circuitBreaker, current, e) || isMaster) {
+                            // 已发出的元素不能撤回，不再降级
+                            return Mono.error(e);
+                        }
+                        return run(next(current));
+                    });
+        }
+
+        private void onSuccess(AtomicBoolean signaled, StrategyCircuitBreaker circuitBreaker) {
+            if (signaled.compareAndSet(false, true) && circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+        }
+
+        /**
+         * @return 是否降级
+         */
+        private boolean onError(StrategyCircuitBreaker circuitBreaker, Invocation current, Throwable e) {
+            if (!fallbackPolicy.isFallbackException(e)) {
+                // 业务异常说明分支可用，不计入熔断
+                if (circuitBreaker != null) {
+                    circuitBreaker.onSuccess();
+                }
+                return false;
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+            }
+            if (current != master) {
+                failure = e;
+                log.warn("branch failed, fallback. api = {}, bean = {}, error = {}", table.getApi().getName(), current.getBean().getClass().getName(), e.toString());
+            }
+            return true;
+        }
+
+        private Invocation next(Invocation current) {
+            if (triedBeans == null) {
+                triedBeans = new ArrayList<>(4);
+            }
+            triedBeans.add(current.getBean());
+            while (routeKeys != null && keyIndex < routeKeys.length) {
+                Invocation candidate = table.getBranch(routeKeys[keyIndex++], index);
+                if (candidate != null && !containsBean(candidate.getBean())) {
+                    return candidate;
+                }
+            }
+            return master;
+        }
+
+        private boolean containsBean(Object bean) {
+            for (Object candidate : triedBeans) {
+                if (candidate == bean) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public StrategyDispatchTable getTable() {
+        return table;
+    }
+}
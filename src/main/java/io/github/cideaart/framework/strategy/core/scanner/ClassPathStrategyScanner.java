@@ -1,6 +1,8 @@
 package io.github.cideaart.framework.strategy.core.scanner;
 
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
 import io.github.cideaart.framework.strategy.core.filter.StrategyAPITypeFilter;
+import io.github.cideaart.framework.strategy.core.index.StrategyIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -12,16 +14,26 @@ import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
-
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.type.classreading.MetadataReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * 扫描Strategy的API{@link #registerDefaultFilters()}
  * 并在spring中注册路由代理实例{@link #doScan(String...)}
+ * 提供{@link StrategyIndex}的jar或class目录直接读取索引中的候选，其它根目录仍扫描{@link #findCandidateComponents(String)}
  * @author CIdea
  */
 public class ClassPathStrategyScanner extends ClassPathBeanDefinitionScanner implements BeanFactoryAware {
@@ -67,7 +79,69 @@ public class ClassPathStrategyScanner extends ClassPathBeanDefinitionScanner imp
         return beanDefinitions;
     }
 
+    @Override
+    public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+        // 索引只记录StrategyAPI，自定义注解仍扫描classpath
+        StrategyIndex index = configurer.getAnnotationClass() == StrategyAPI.class
+                ? StrategyIndex.load(getResourceLoader().getClassLoader()) : null;
+        if (index == null) {
+            return super.findCandidateComponents(basePackage);
+        }
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        for (String className : index.getCandidates(basePackage)) {
+            try {
+                // 只读取字节码元数据，不加载类
+                MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(className);
+                ScannedGenericBeanDefinition definition = new ScannedGenericBeanDefinition(metadataReader);
+                definition.setSource(metadataReader.getResource());
+                candidates.add(definition);
+            } catch (FileNotFoundException e) {
+                // 索引中的类已删除
+                log.debug("Ignored stale strategy index entry: " + className);
+            } catch (IOException e) {
+                throw new BeanDefinitionStoreException("Failed to read candidate component class: " + className, e);
+            }
+        }
+        int indexed = candidates.size();
+        scanUnindexed(index, basePackage, candidates);
+        log.debug("Found " + indexed + " Strategy candidates in '" + basePackage + "' from " + StrategyIndex.INDEX_LOCATION
+                + ", " + (candidates.size() - indexed) + " from classpath scanning");
+        return candidates;
+    }
+
+    /**
+     * 扫描未提供索引的jar或class目录，提供索引的根目录不遍历
+     */
+    private void scanUnindexed(StrategyIndex index, String basePackage, Set<BeanDefinition> candidates) {
+        ResourcePatternResolver resolver = ResourcePatternUtils.getResourcePatternResolver(getResourceLoader());
+        String packagePath = resolveBasePackage(basePackage);
+        try {
+            // 先定位包所在的各个根目录，与classpath*:前缀的处理一致
+            for (Resource root : resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + "/")) {
+                if (index.isIndexed(root.getURL())) {
+                    continue;
+                }
+                String location = root.getURL().toExternalForm();
+                String pattern = (location.endsWith("/") ? location : location + "/") + "**/*.class";
+                for (Resource resource : resolver.getResources(pattern)) {
+                    if (!resource.isReadable()) {
+                        continue;
+                    }
+                    MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+                    if (isCandidateComponent(metadataReader)) {
+                        ScannedGenericBeanDefinition definition = new ScannedGenericBeanDefinition(metadataReader);
+                        definition.setSource(resource);
+                        candidates.add(definition);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", e);
+        }
+    }
+
     private Set<BeanDefinitionHolder> processBeanDefinitions(Set<BeanDefinitionHolder> beanDefinitions) {
+        boolean lazy = getEnvironment().getProperty("cidea.strategy.lazy", Boolean.class, false);
         Set<BeanDefinitionHolder> beans = new HashSet<>();
         for (BeanDefinitionHolder holder : beanDefinitions) {
             if (!registry.add(holder)) {
@@ -89,7 +163,8 @@ public class ClassPathStrategyScanner extends ClassPathBeanDefinitionScanner imp
 
             // 保证API多实现的同时，默认调API代理
             definition.setPrimary(true);
-            // definition.setLazyInit(true);
+            // 延迟模式下未被依赖的API不创建代理
+            definition.setLazyInit(lazy);
             // definition.setInitMethodName();
             definition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_TYPE);
         }
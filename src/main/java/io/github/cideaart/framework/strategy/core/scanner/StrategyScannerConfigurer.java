@@ -16,6 +16,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.util.StringUtils;
 
 import java.lang.annotation.Annotation;
+import java.util.*;
 
 import static org.springframework.util.Assert.notNull;
 
@@ -51,8 +52,34 @@ public class StrategyScannerConfigurer
         scanner.setResourceLoader(this.applicationContext);
         // 这里是进行实践的扫描注册操作
         // StringUtils.tokenizeToStringArray是分给数组，匹配,或者;
-        scanner.scan(
-                StringUtils.tokenizeToStringArray(this.basePackage, ConfigurableApplicationContext.CONFIG_LOCATION_DELIMITERS));
+        // 去掉被其他路径包含的子包，避免重复扫描
+        List<String> packages = reducePackages(Arrays.asList(
+                StringUtils.tokenizeToStringArray(this.basePackage, ConfigurableApplicationContext.CONFIG_LOCATION_DELIMITERS)));
+        scanner.scan(StringUtils.toStringArray(packages));
+    }
+
+    /**
+     * 合并包路径为最小集合，去重并移除被其他路径包含的子包
+     *
+     * @param packages 包路径
+     * @return 互不包含的包路径，按原顺序
+     */
+    public static List<String> reducePackages(Collection<String> packages) {
+        List<String> sorted = new ArrayList<>(new LinkedHashSet<>(packages));
+        sorted.sort(Comparator.comparingInt(String::length));
+        List<String> reduced = new ArrayList<>();
+        for (String pkg : sorted) {
+            if (reduced.stream().noneMatch(parent -> pkg.equals(parent) || pkg.startsWith(parent + "."))) {
+                reduced.add(pkg);
+            }
+        }
+        List<String> result = new ArrayList<>(packages.size());
+        for (String pkg : packages) {
+            if (reduced.contains(pkg) && !result.contains(pkg)) {
+                result.add(pkg);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -0,0 +1,72 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * 在执行器中执行的执行对象，用于{@link io.github.cideaart.framework.strategy.core.annotation.StrategyAsync}
+ * 立即返回future，分支返回的future完成后随之完成
+ *
+ * @author CIdea
+ */
+public class AsyncInvocation extends Invocation {
+
+    private final Invocation delegate;
+
+    private final Executor executor;
+
+    public AsyncInvocation(Invocation delegate, Executor executor) {
+        super(delegate.getMethod(), delegate.getBean());
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invoke(Object... args) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> complete(future, args));
+        } catch (RuntimeException e) {
+            // 如RejectedExecutionException
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void complete(CompletableFuture<Object> future, Object[] args) {
+        Object result;
+        try {
+            result = delegate.invoke(args);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, e) -> {
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(value);
+                }
+            });
+        } else if (result instanceof Future) {
+            // 非CompletionStage的future只能在执行器线程等待
+            try {
+                future.complete(((Future<?>) result).get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        } else {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * 方法返回值能否由{@link CompletableFuture}承接
+     */
+    public static boolean isAsyncReturnType(Class<?> returnType) {
+        return returnType != Object.class && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 有界缓存，超出容量时按GCLOCK（带访问计数的时钟算法）淘汰低频条目
+ * 读取无锁且不分配对象，写入加锁
+ *
+ * @author CIdea
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * 访问计数上限，计数越高越晚被淘汰
+     */
+    private static final int MAX_FREQUENCY = 15;
+
+    private final Map<K, Node<K, V>> map;
+
+    private final int maximumSize;
+
+    private final CacheStats stats;
+
+    /**
+     * 时钟环，槽位与条目一一对应
+     */
+    private final Node<K, V>[] ring;
+
+    /**
+     * 时钟指针
+     */
+    private int hand;
+
+    /**
+     * 已占用槽位数
+     */
+    private int count;
+
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maximumSize, CacheStats stats) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.stats = stats;
+        this.map = new ConcurrentHashMap<>(Math.min(maximumSize, 16));
+        this.ring = new Node[maximumSize];
+    }
+
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            stats.recordMiss();
+            return null;
+        }
+        int frequency = node.frequency;
+        if (frequency < MAX_FREQUENCY) {
+            // 并发下计数可能丢失，仅作为淘汰参考
+            node.frequency = frequency + 1;
+        }
+        stats.recordHit();
+        return node.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            node.value = value;
+            return;
+        }
+        int slot = count < maximumSize ? count++ : evict();
+        node = new Node<>(key, value);
+        ring[slot] = node;
+        map.put(key, node);
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        for (int i = 0; i < count; i++) {
+            ring[i] = null;
+        }
+        count = 0;
+        hand = 0;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * 转动时钟指针，计数递减，淘汰第一个计数为0的条目
+     *
+     * @return 空出的槽位
+     */
+    private int evict() {
+        while (true) {
+            Node<K, V> node = ring[hand];
+            int slot = hand;
+            hand = (hand + 1) % maximumSize;
+            if (node.frequency > 0) {
+                node.frequency--;
+                continue;
+            }
+            map.remove(node.key, node);
+            stats.recordEviction();
+            return slot;
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private volatile V value;
+
+        private volatile int frequency;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
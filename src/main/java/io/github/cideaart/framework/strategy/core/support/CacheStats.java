@@ -0,0 +1,52 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存统计，多个缓存分段可共用一个统计
+ *
+ * @author CIdea
+ */
+public class CacheStats {
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    void recordHit() {
+        hitCount.increment();
+    }
+
+    void recordMiss() {
+        missCount.increment();
+    }
+
+    void recordEviction() {
+        evictionCount.increment();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + getHitCount() + ", missCount=" + getMissCount() + ", evictionCount=" + getEvictionCount() + "}";
+    }
+}
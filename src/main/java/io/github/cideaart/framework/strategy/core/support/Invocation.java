@@ -4,6 +4,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
+ * 待执行bean和method的封装对象，默认反射执行
+ * 其它执行方式见{@link InvocationFactory}
+ *
  * @author: CIdea
  */
 public class Invocation {
@@ -24,4 +27,12 @@ public class Invocation {
             throw ite.getTargetException();
         }
     }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
 }
@@ -0,0 +1,56 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+
+/**
+ * 执行对象的创建策略，注册同类型的bean即可替换默认实现
+ *
+ * @author CIdea
+ */
+@FunctionalInterface
+public interface InvocationFactory {
+
+    /**
+     * 反射执行
+     */
+    InvocationFactory REFLECTION = Invocation::new;
+
+    /**
+     * {@link java.lang.invoke.MethodHandle}执行，方法不可访问时回退为反射执行（默认）
+     */
+    InvocationFactory METHOD_HANDLE = (method, bean) -> {
+        try {
+            return new MethodHandleInvocation(method, bean);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LoggerFactory.getLogger(InvocationFactory.class)
+                    .debug("method handle unavailable, fallback to reflection. method = {}", method, e);
+            return new Invocation(method, bean);
+        }
+    };
+
+    /**
+     * {@link java.lang.invoke.LambdaMetafactory}生成调用类执行，JIT可内联到分支方法；
+     * 方法不支持时回退为{@link #METHOD_HANDLE}，见{@link LambdaInvocation#isSupported}
+     */
+    InvocationFactory LAMBDA = (method, bean) -> {
+        if (LambdaInvocation.isSupported(method)) {
+            try {
+                return new LambdaInvocation(method, bean);
+            } catch (Throwable e) {
+                LoggerFactory.getLogger(InvocationFactory.class)
+                        .debug("lambda invocation unavailable, fallback to method handle. method = {}", method, e);
+            }
+        }
+        return METHOD_HANDLE.create(method, bean);
+    };
+
+    /**
+     * @param method 执行方法，由{@link org.apache.commons.lang3.reflect.MethodUtils#getMatchingAccessibleMethod}匹配
+     * @param bean   执行bean
+     * @return
+     */
+    Invocation create(Method method, Object bean);
+
+}
@@ -0,0 +1,153 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 基于{@link LambdaMetafactory}生成的调用类执行，等同于编译期写出的直接调用，
+ * JIT可内联到分支方法；而{@link MethodHandleInvocation}的handle是实例字段，不是常量，无法内联
+ * 仅支持不超过{@link #MAX_PARAMETER_COUNT}个参数、声明类和参数类型对本组件可见的public方法
+ *
+ * @author CIdea
+ */
+public class LambdaInvocation extends Invocation {
+
+    /**
+     * 支持的最大参数个数
+     */
+    public static final int MAX_PARAMETER_COUNT = 3;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Class<?>[] INVOKER_TYPES = {Invoker0.class, Invoker1.class, Invoker2.class, Invoker3.class};
+
+    private static final Class<?>[] VOID_INVOKER_TYPES = {VoidInvoker0.class, VoidInvoker1.class, VoidInvoker2.class, VoidInvoker3.class};
+
+    /**
+     * 参数个数，void方法取负数减一，用于选择调用接口
+     */
+    private final int shape;
+
+    private final Object invoker;
+
+    /**
+     * @throws IllegalArgumentException 方法不支持时抛出，由调用方回退为其它执行方式
+     * @throws Throwable                生成调用类失败时抛出
+     */
+    public LambdaInvocation(Method method, Object bean) throws Throwable {
+        super(method, bean);
+        if (!isSupported(method)) {
+            throw new IllegalArgumentException("lambda invocation unsupported: " + method);
+        }
+        int parameterCount = method.getParameterCount();
+        boolean isVoid = method.getReturnType() == void.class;
+        Class<?> invokerType = (isVoid ? VOID_INVOKER_TYPES : INVOKER_TYPES)[parameterCount];
+        MethodHandle target = LOOKUP.unreflect(method);
+        // 接口方法的参数、返回值均为Object，实际类型由生成的调用类转换、装箱
+        MethodType instantiatedType = target.type().wrap();
+        if (isVoid) {
+            instantiatedType = instantiatedType.changeReturnType(void.class);
+        }
+        MethodType erasedType = MethodType.genericMethodType(parameterCount + 1);
+        if (isVoid) {
+            erasedType = erasedType.changeReturnType(void.class);
+        }
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "invoke", MethodType.methodType(invokerType),
+                erasedType, target, instantiatedType);
+        this.invoker = callSite.getTarget().invoke();
+        this.shape = isVoid ? -parameterCount - 1 : parameterCount;
+    }
+
+    /**
+     * 生成的调用类定义在本组件的类加载器中，方法和类型须为public且对其可见
+     */
+    public static boolean isSupported(Method method) {
+        if (method.getParameterCount() > MAX_PARAMETER_COUNT
+                || !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        ClassLoader classLoader = LambdaInvocation.class.getClassLoader();
+        if (!isVisible(method.getDeclaringClass(), classLoader) || !isVisible(method.getReturnType(), classLoader)) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isVisible(parameterType, classLoader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers()) && ClassUtils.isVisible(type, classLoader);
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        Object bean = getBean();
+        switch (shape) {
+            case 0:
+                return ((Invoker0) invoker).invoke(bean);
+            case 1:
+                return ((Invoker1) invoker).invoke(bean, args[0]);
+            case 2:
+                return ((Invoker2) invoker).invoke(bean, args[0], args[1]);
+            case 3:
+                return ((Invoker3) invoker).invoke(bean, args[0], args[1], args[2]);
+            case -1:
+                ((VoidInvoker0) invoker).invoke(bean);
+                return null;
+            case -2:
+                ((VoidInvoker1) invoker).invoke(bean, args[0]);
+                return null;
+            case -3:
+                ((VoidInvoker2) invoker).invoke(bean, args[0], args[1]);
+                return null;
+            default:
+                ((VoidInvoker3) invoker).invoke(bean, args[0], args[1], args[2]);
+                return null;
+        }
+    }
+
+    interface Invoker0 {
+        Object invoke(Object bean);
+    }
+
+    interface Invoker1 {
+        Object invoke(Object bean, Object arg0);
+    }
+
+    interface Invoker2 {
+        Object invoke(Object bean, Object arg0, Object arg1);
+    }
+
+    interface Invoker3 {
+        Object invoke(Object bean, Object arg0, Object arg1, Object arg2);
+    }
+
+    interface VoidInvoker0 {
+        void invoke(Object bean);
+    }
+
+    interface VoidInvoker1 {
+        void invoke(Object bean, Object arg0);
+    }
+
+    interface VoidInvoker2 {
+        void invoke(Object bean, Object arg0, Object arg1);
+    }
+
+    interface VoidInvoker3 {
+        void invoke(Object bean, Object arg0, Object arg1, Object arg2);
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.exception.StrategyRejectedException;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 受{@link StrategyLimiter}限制的分支执行对象，超出限制时拒绝或改由主干执行
+ *
+ * @author CIdea
+ */
+public class LimitedInvocation extends Invocation {
+
+    /**
+     * {@link #invokeOrRedirect}改由主干执行时的返回值
+     */
+    static final Object REDIRECTED = new Object();
+
+    private final Invocation delegate;
+
+    private final StrategyLimiter limiter;
+
+    /**
+     * 主干执行对象，可为null；内层限制改由主干执行时也由此执行
+     */
+    private final Invocation master;
+
+    /**
+     * 超时调用的执行器
+     */
+    private final Executor executor;
+
+    public LimitedInvocation(Invocation delegate, StrategyLimiter limiter, Invocation master, Executor executor) {
+        super(delegate.getMethod(), delegate.getBean());
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.master = master;
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        Object value = invokeOrRedirect(args);
+        return value == REDIRECTED ? master.invoke(args) : value;
+    }
+
+    /**
+     * 执行分支，需改由主干执行时返回{@link #REDIRECTED}，由调用方决定如何执行主干
+     */
+    Object invokeOrRedirect(Object[] args) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            return reject("limit exceeded");
+        }
+        if (limiter.getTimeoutNanos() == 0) {
+            return invokeAndRelease(args);
+        }
+        return invokeWithTimeout(args);
+    }
+
+    /**
+     * 执行分支并归还许可，分支返回{@link CompletionStage}时在其完成后归还，使并发数限制覆盖异步执行
+     */
+    private Object invokeAndRelease(Object[] args) throws Throwable {
+        Object result = null;
+        try {
+            // 分支和routeKey同时限制时，内层需改由主干执行的结果原样返回，不写入缓存
+            result = delegate instanceof LimitedInvocation ? ((LimitedInvocation) delegate).invokeOrRedirect(args) : delegate.invoke(args);
+            return result;
+        } finally {
+            if (result instanceof CompletionStage) {
+                ((CompletionStage<?>) result).whenComplete((value, e) -> limiter.release());
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private Object invokeWithTimeout(Object[] args) throws Throwable {
+        // 许可在分支执行结束时归还，超时后分支仍占用并发数；任务未开始即被取消时由调用线程归还
+        // 超时只限制分支返回之前的部分，异步分支返回的future不受超时限制
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<Object> task = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return invokeAndRelease(args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            limiter.release();
+            return reject("executor rejected");
+        }
+        try {
+            return task.get(limiter.getTimeoutNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            cancel(task, started);
+            return reject("timeout");
+        } catch (InterruptedException e) {
+            cancel(task, started);
+            throw e;
+        }
+    }
+
+    /**
+     * 取消任务，任务尚未开始时归还许可
+     */
+    private void cancel(FutureTask<Object> task, AtomicBoolean started) {
+        if (started.compareAndSet(false, true)) {
+            limiter.release();
+        }
+        task.cancel(true);
+    }
+
+    private Object reject(String reason) throws Throwable {
+        if (limiter.isFallbackToMaster() && master != null) {
+            return REDIRECTED;
+        }
+        throw new StrategyRejectedException("branch `" + getBean().getClass().getName() + "` rejected method `" + getMethod().getName() + "`: " + reason);
+    }
+
+    /**
+     * 改由主干执行
+     */
+    Object redirect(Object[] args) throws Throwable {
+        return master.invoke(args);
+    }
+
+    public Invocation getDelegate() {
+        return delegate;
+    }
+
+    public StrategyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.Arrays;
+
+/**
+ * 缓存结果的执行对象，每个分支的每个方法一个{@link BoundedCache}
+ * 单个参数直接作为缓存键，多个参数按内容比较
+ *
+ * @author CIdea
+ */
+public class MemoizedInvocation extends Invocation {
+
+    /**
+     * 无参数或参数为null时的缓存键
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final Invocation delegate;
+
+    private final BoundedCache<Object, Entry> cache;
+
+    private final long ttlNanos;
+
+    public MemoizedInvocation(Invocation delegate, BoundedCache<Object, Entry> cache, long ttlNanos) {
+        super(delegate.getMethod(), delegate.getBean());
+        this.delegate = delegate;
+        this.cache = cache;
+        this.ttlNanos = ttlNanos;
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        Object key = key(args);
+        Entry entry = cache.get(key);
+        if (entry != null && (ttlNanos == 0 || System.nanoTime() - entry.expireAt < 0)) {
+            return entry.value;
+        }
+        Object value;
+        if (delegate instanceof LimitedInvocation) {
+            // 超出限制改由主干执行的结果不属于该分支，不写入缓存
+            LimitedInvocation limited = (LimitedInvocation) delegate;
+            value = limited.invokeOrRedirect(args);
+            if (value == LimitedInvocation.REDIRECTED) {
+                return limited.redirect(args);
+            }
+        } else {
+            value = delegate.invoke(args);
+        }
+        cache.put(key, new Entry(value, ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos));
+        return value;
+    }
+
+    private static Object key(Object[] args) {
+        if (args.length == 0) {
+            return NULL_KEY;
+        }
+        if (args.length == 1) {
+            Object arg = args[0];
+            if (arg == null) {
+                return NULL_KEY;
+            }
+            if (!arg.getClass().isArray()) {
+                return arg;
+            }
+        }
+        return new ArgsKey(args.clone());
+    }
+
+    /**
+     * 缓存的结果
+     */
+    public static final class Entry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static final class ArgsKey {
+
+        private final Object[] args;
+
+        private final int hash;
+
+        private ArgsKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ArgsKey && Arrays.deepEquals(args, ((ArgsKey) o).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * 基于{@link MethodHandle}执行，bean预先绑定，参数展开后以invokeExact调用，
+ * 避免反射调用的访问检查和{@link java.lang.reflect.InvocationTargetException}包装
+ *
+ * @author CIdea
+ */
+public class MethodHandleInvocation extends Invocation {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final MethodHandle handle;
+
+    /**
+     * @throws IllegalAccessException 方法不可访问时抛出，由调用方回退为反射执行
+     */
+    public MethodHandleInvocation(Method method, Object bean) throws IllegalAccessException {
+        super(method, bean);
+        this.handle = MethodHandles.lookup().unreflect(method)
+                .bindTo(bean)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        return (Object) handle.invokeExact(args);
+    }
+}
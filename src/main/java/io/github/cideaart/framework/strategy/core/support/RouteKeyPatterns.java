@@ -0,0 +1,241 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranchPrimary;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.util.*;
+
+/**
+ * 通配routeKey的匹配自动机（不可变），由{@link StrategyDispatchTable}按API的分支routeKey构建
+ * 支持`*`（任意个字符）和`?`（单个字符），全部模式合并为一个NFA，以位集并行模拟，匹配耗时与routeKey长度成正比
+ * 多个模式匹配时按优先级选择：{@link StrategyBranchPrimary}分支优先，其次字面字符多的模式，最后按字典序
+ * 匹配结果按routeKey缓存在{@link BoundedCache}中，命中统计独立于{@link StrategyCache#stats()}；
+ * 未命中时执行一次模拟并加锁写入缓存，routeKey基数远大于缓存容量时每次调用都会走这一路径
+ *
+ * @author CIdea
+ */
+final class RouteKeyPatterns {
+
+    /**
+     * 缓存中表示未匹配
+     */
+    private static final Invocation[] NO_MATCH = new Invocation[0];
+
+    private static final int ASCII = 128;
+
+    /**
+     * 按优先级排列的模式对应的分支执行对象
+     */
+    private final Invocation[][] patternInvocations;
+
+    /**
+     * 位置: 模式下标，仅接受位置有效
+     */
+    private final int[] positionPatterns;
+
+    /**
+     * ASCII字符可前进的位置，含`?`
+     */
+    private final long[][] asciiMasks;
+
+    /**
+     * 其它字符可前进的位置
+     */
+    private final Map<Character, long[]> charMasks;
+
+    /**
+     * `?`的位置，未出现在字面字符中的字符使用
+     */
+    private final long[] anyMask;
+
+    /**
+     * `*`的位置
+     */
+    private final long[] starMask;
+
+    private final long[] acceptMask;
+
+    private final long[] startState;
+
+    private final BoundedCache<String, Invocation[]> cache;
+
+    /**
+     * @param branches 通配routeKey: 按方法下标排列的分支执行对象
+     * @param stats    匹配缓存的命中统计
+     */
+    RouteKeyPatterns(Map<String, Invocation[]> branches, CacheStats stats) {
+        List<Map.Entry<String, Invocation[]>> patterns = new ArrayList<>(branches.entrySet());
+        patterns.sort(Comparator.<Map.Entry<String, Invocation[]>>comparingInt(e -> isPrimary(e.getValue()) ? 0 : 1)
+                .thenComparing(Comparator.<Map.Entry<String, Invocation[]>>comparingInt(e -> literalCount(e.getKey())).reversed())
+                .thenComparing(Map.Entry::getKey));
+        List<String> tokens = new ArrayList<>(patterns.size());
+        int positions = 0;
+        for (Map.Entry<String, Invocation[]> pattern : patterns) {
+            // 连续的`*`合并为一个
+            String token = pattern.getKey().replaceAll("\\*+", "*");
+            tokens.add(token);
+            positions += token.length() + 1;
+        }
+        int words = (positions + 63) >>> 6;
+        this.patternInvocations = new Invocation[patterns.size()][];
+        this.positionPatterns = new int[positions];
+        this.asciiMasks = new long[ASCII][];
+        this.charMasks = new HashMap<>();
+        this.anyMask = new long[words];
+        this.starMask = new long[words];
+        this.acceptMask = new long[words];
+        long[] starts = new long[words];
+        Map<Character, long[]> literalMasks = new HashMap<>();
+        int position = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            patternInvocations[i] = patterns.get(i).getValue();
+            String token = tokens.get(i);
+            set(starts, position);
+            for (int j = 0; j < token.length(); j++, position++) {
+                char c = token.charAt(j);
+                if (c == '*') {
+                    set(starMask, position);
+                } else if (c == '?') {
+                    set(anyMask, position);
+                } else {
+                    set(literalMasks.computeIfAbsent(c, k -> new long[words]), position);
+                }
+            }
+            set(acceptMask, position);
+            positionPatterns[position++] = i;
+        }
+        for (Map.Entry<Character, long[]> entry : literalMasks.entrySet()) {
+            long[] mask = entry.getValue();
+            for (int w = 0; w < words; w++) {
+                mask[w] |= anyMask[w];
+            }
+            char c = entry.getKey();
+            if (c < ASCII) {
+                asciiMasks[c] = mask;
+            } else {
+                charMasks.put(c, mask);
+            }
+        }
+        this.startState = starts;
+        closure(startState);
+        this.cache = new BoundedCache<>(StrategyCache.getMaximumSize(), stats);
+    }
+
+    /**
+     * routeKey是否为通配routeKey
+     */
+    static boolean isPattern(String routeKey) {
+        return routeKey.indexOf('*') >= 0 || routeKey.indexOf('?') >= 0;
+    }
+
+    /**
+     * @return 优先级最高的匹配模式对应的分支执行对象，未匹配时返回null
+     */
+    Invocation[] match(String routeKey) {
+        Invocation[] invocations = cache.get(routeKey);
+        if (invocations == null) {
+            invocations = simulate(routeKey);
+            cache.put(routeKey, invocations);
+        }
+        return invocations == NO_MATCH ? null : invocations;
+    }
+
+    private Invocation[] simulate(String routeKey) {
+        int words = startState.length;
+        if (words == 1) {
+            return simulateSingleWord(routeKey);
+        }
+        long[] state = startState.clone();
+        long[] next = new long[words];
+        for (int i = 0; i < routeKey.length(); i++) {
+            char c = routeKey.charAt(i);
+            long[] mask = c < ASCII ? asciiMasks[c] : charMasks.get(c);
+            if (mask == null) {
+                mask = anyMask;
+            }
+            // 匹配字符的位置前进一位，`*`的位置保持
+            long carry = 0;
+            boolean alive = false;
+            for (int w = 0; w < words; w++) {
+                long advanced = state[w] & mask[w];
+                next[w] = (advanced << 1) | carry | (state[w] & starMask[w]);
+                carry = advanced >>> 63;
+                alive |= next[w] != 0;
+            }
+            if (!alive) {
+                return NO_MATCH;
+            }
+            closure(next);
+            long[] swap = state;
+            state = next;
+            next = swap;
+        }
+        // 位置按优先级排列，第一个接受位置即为结果
+        for (int w = 0; w < words; w++) {
+            long accepted = state[w] & acceptMask[w];
+            if (accepted != 0) {
+                return patternInvocations[positionPatterns[(w << 6) + Long.numberOfTrailingZeros(accepted)]];
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * 不超过64个位置时状态放在一个long中，模拟过程不分配对象
+     */
+    private Invocation[] simulateSingleWord(String routeKey) {
+        long star = starMask[0];
+        long state = startState[0];
+        for (int i = 0; i < routeKey.length(); i++) {
+            char c = routeKey.charAt(i);
+            long[] mask = c < ASCII ? asciiMasks[c] : charMasks.get(c);
+            if (mask == null) {
+                mask = anyMask;
+            }
+            long next = ((state & mask[0]) << 1) | (state & star);
+            if (next == 0) {
+                return NO_MATCH;
+            }
+            state = next | ((next & star) << 1);
+        }
+        long accepted = state & acceptMask[0];
+        return accepted == 0 ? NO_MATCH : patternInvocations[positionPatterns[Long.numberOfTrailingZeros(accepted)]];
+    }
+
+    /**
+     * `*`可匹配空串，到达`*`的位置同时到达下一位置
+     */
+    private void closure(long[] state) {
+        long carry = 0;
+        for (int w = 0; w < state.length; w++) {
+            long stars = state[w] & starMask[w];
+            long shifted = (stars << 1) | carry;
+            carry = stars >>> 63;
+            state[w] |= shifted;
+        }
+    }
+
+    private static void set(long[] bits, int position) {
+        bits[position >>> 6] |= 1L << position;
+    }
+
+    private static int literalCount(String pattern) {
+        int count = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '*' && c != '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isPrimary(Invocation[] invocations) {
+        for (Invocation invocation : invocations) {
+            if (invocation != null) {
+                return AnnotationUtils.getAnnotation(invocation.getBean().getClass(), StrategyBranchPrimary.class) != null;
+            }
+        }
+        return false;
+    }
+}
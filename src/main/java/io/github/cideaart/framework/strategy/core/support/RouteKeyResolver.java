@@ -0,0 +1,81 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyRouteKey;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * 声明式routeKey解析，以方法参数数组为根对象的SpEL表达式
+ * 首次成功执行后编译为字节码，之后的调用等同于直接读取属性
+ *
+ * @author CIdea
+ */
+public class RouteKeyResolver {
+
+    private final String expressionString;
+
+    private final Expression expression;
+
+    /**
+     * @param expressionString SpEL表达式
+     * @param classLoader      编译表达式使用的类加载器，需能加载参数类型，一般取API的类加载器
+     */
+    public RouteKeyResolver(String expressionString, ClassLoader classLoader) {
+        this.expressionString = expressionString;
+        this.expression = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, classLoader))
+                .parseExpression(expressionString);
+    }
+
+    /**
+     * 解析方法的声明式routeKey，{@link StrategyRouteKey}优先于{@link StrategyAPI#routeKey()}
+     *
+     * @param api    路由API
+     * @param method 代理方法
+     * @return 未声明时返回null
+     */
+    public static RouteKeyResolver forMethod(Class<?> api, Method method) {
+        ClassLoader classLoader = api.getClassLoader();
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof StrategyRouteKey) {
+                    String path = ((StrategyRouteKey) annotation).value();
+                    return new RouteKeyResolver(StringUtils.hasText(path) ? "[" + i + "]." + path : "[" + i + "]", classLoader);
+                }
+            }
+        }
+        StrategyAPI annotation = AnnotationUtils.findAnnotation(api, StrategyAPI.class);
+        if (annotation != null && StringUtils.hasText(annotation.routeKey())) {
+            return new RouteKeyResolver(annotation.routeKey(), classLoader);
+        }
+        return null;
+    }
+
+    /**
+     * @param args 方法参数
+     * @return routeKey，枚举取{@link Enum#name()}
+     */
+    public String resolve(Object[] args) {
+        Object value = expression.getValue(args);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return expressionString;
+    }
+}
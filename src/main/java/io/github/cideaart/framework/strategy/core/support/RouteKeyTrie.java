@@ -0,0 +1,115 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 层级routeKey的前缀树（不可变），由{@link StrategyDispatchTable}按API的分支routeKey构建
+ * 如分支routeKey为`cn`、`cn.sh`时，`cn.sh.pudong`匹配`cn.sh`，`cn.bj`匹配`cn`
+ * 按字符逐个匹配，只在分隔符边界取值，匹配过程不创建对象
+ *
+ * @author CIdea
+ */
+final class RouteKeyTrie {
+
+    private final char separator;
+
+    private final Node root;
+
+    RouteKeyTrie(Map<String, Invocation[]> branches, char separator) {
+        this.separator = separator;
+        Builder rootBuilder = new Builder();
+        for (Map.Entry<String, Invocation[]> entry : branches.entrySet()) {
+            Builder builder = rootBuilder;
+            String routeKey = entry.getKey();
+            for (int i = 0; i < routeKey.length(); i++) {
+                builder = builder.children.computeIfAbsent(routeKey.charAt(i), c -> new Builder());
+            }
+            builder.invocations = entry.getValue();
+        }
+        this.root = rootBuilder.build();
+    }
+
+    /**
+     * 最长前缀匹配
+     *
+     * @param routeKey routeKey
+     * @param index    方法下标
+     * @return 匹配的最长一级中有对应方法的分支执行对象，未匹配时返回null
+     */
+    Invocation match(String routeKey, int index) {
+        Node node = root;
+        Invocation matched = null;
+        int length = routeKey.length();
+        for (int i = 0; i < length; i++) {
+            node = node.child(routeKey.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.invocations != null && (i + 1 == length || routeKey.charAt(i + 1) == separator)) {
+                Invocation invocation = node.invocations[index];
+                if (invocation != null) {
+                    matched = invocation;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private static final class Node {
+
+        /**
+         * 有序的子节点字符，与{@link #children}下标对应
+         */
+        private final char[] labels;
+
+        private final Node[] children;
+
+        /**
+         * 以该节点结尾的routeKey对应的分支执行对象
+         */
+        private final Invocation[] invocations;
+
+        private Node(char[] labels, Node[] children, Invocation[] invocations) {
+            this.labels = labels;
+            this.children = children;
+            this.invocations = invocations;
+        }
+
+        private Node child(char c) {
+            char[] labels = this.labels;
+            int low = 0;
+            int high = labels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char label = labels[mid];
+                if (label < c) {
+                    low = mid + 1;
+                } else if (label > c) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+
+        private Invocation[] invocations;
+
+        private Node build() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(labels, nodes, invocations);
+        }
+    }
+}
@@ -1,40 +1,58 @@
 package io.github.cideaart.framework.strategy.core.support;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * 分支匹配结果缓存
+ * 按(api, 代理的method)分段，每段为{@link BoundedCache}，routeKey数量超出{@link #maximumSize}后淘汰低频routeKey
+ * 查询不创建对象，未命中时不会为routeKey分配空间
+ *
  * @author CIdea
  */
 public class StrategyCache {
 
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
     /**
-     * 分支执行方法缓存，(routeKey, 代理的method): 执行bean和执行method的封装对象
+     * 分支执行方法缓存，(api, 代理的method): routeKey: 执行bean和执行method的封装对象
      */
-    private static final Map<String, Map<Class, Map<Method, Invocation>>> branchCache = new ConcurrentHashMap<>(16);
+    private static final Map<Class, Map<Method, BoundedCache<String, Invocation>>> branchCache = new ConcurrentHashMap<>(16);
     /**
      * 主干执行方法缓存
      */
     private static final Map<Class, Map<Method, Invocation>> masterCache = new ConcurrentHashMap<>(16);
+    /**
+     * 未匹配分支的routeKey缓存，(api, 代理的method): routeKey，routeKeys全部命中则直接走主干
+     */
+    private static final Map<Class, Map<Method, BoundedCache<String, Boolean>>> masterRouteCache = new ConcurrentHashMap<>(16);
+
+    private static final CacheStats stats = new CacheStats();
+
+    /**
+     * 每段最大routeKey数量
+     */
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
 
     public static void cacheBranch(String key, Class api, Method method, Invocation invocation) {
         if (key == null) {
             return;
         }
-        Map<Class, Map<Method, Invocation>> beanMap = branchCache.computeIfAbsent(key, s -> new ConcurrentHashMap<>());
-        Map<Method, Invocation> methodMap = beanMap.computeIfAbsent(api, o -> new ConcurrentHashMap<>());
-        methodMap.put(method, invocation);
+        segment(branchCache, api, method).put(key, invocation);
     }
 
     public static Invocation getBranch(String[] keys, Class api, Method method) {
-        if(keys == null || keys.length == 0){
+        if (keys == null || keys.length == 0) {
+            return null;
+        }
+        BoundedCache<String, Invocation> segment = getSegment(branchCache, api, method);
+        if (segment == null) {
             return null;
         }
         Invocation invocation;
         for (String key : keys) {
-            if ((invocation = getBranch(key, api, method)) != null) {
+            if (key != null && (invocation = segment.get(key)) != null) {
                 return invocation;
             }
         }
@@ -45,9 +63,8 @@ public class StrategyCache {
         if (key == null) {
             return null;
         }
-        Map<Class, Map<Method, Invocation>> beanMap = branchCache.computeIfAbsent(key, s -> new ConcurrentHashMap<>());
-        Map<Method, Invocation> methodMap = beanMap.computeIfAbsent(api, o -> new ConcurrentHashMap<>());
-        return methodMap.get(method);
+        BoundedCache<String, Invocation> segment = getSegment(branchCache, api, method);
+        return segment == null ? null : segment.get(key);
     }
 
     public static void cacheMaster(Class api, Method method, Invocation invocation) {
@@ -56,8 +73,103 @@ public class StrategyCache {
     }
 
     public static Invocation getMaster(Class api, Method method) {
-        Map<Method, Invocation> beanMap = masterCache.computeIfAbsent(api, o -> new ConcurrentHashMap<>());
-        return beanMap.get(method);
+        Map<Method, Invocation> beanMap = masterCache.get(api);
+        return beanMap == null ? null : beanMap.get(method);
+    }
+
+    /**
+     * 记录routeKeys未匹配任何分支，由主干执行
+     */
+    public static void cacheMasterRoute(String[] keys, Class api, Method method) {
+        BoundedCache<String, Boolean> segment = segment(masterRouteCache, api, method);
+        for (String key : keys) {
+            if (key != null) {
+                segment.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * routeKeys是否已确认未匹配任何分支，逐个查询routeKey，不创建组合键
+     */
+    public static boolean isMasterRoute(String[] keys, Class api, Method method) {
+        BoundedCache<String, Boolean> segment = getSegment(masterRouteCache, api, method);
+        if (segment == null) {
+            return false;
+        }
+        for (String key : keys) {
+            if (key != null && segment.get(key) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 清空缓存，注册表变更时调用
+     */
+    public static void clear() {
+        branchCache.clear();
+        masterCache.clear();
+        masterRouteCache.clear();
+    }
+
+    /**
+     * 设置每段最大routeKey数量，已有缓存清空后生效
+     */
+    public static void setMaximumSize(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (StrategyCache.maximumSize != maximumSize) {
+            StrategyCache.maximumSize = maximumSize;
+            clear();
+        }
+    }
+
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * 命中、未命中、淘汰统计
+     */
+    public static CacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * 分支缓存的routeKey总数
+     */
+    public static int branchSize() {
+        return size(branchCache);
+    }
+
+    /**
+     * 未匹配分支的routeKey总数
+     */
+    public static int masterRouteSize() {
+        return size(masterRouteCache);
+    }
+
+    private static <K, V> BoundedCache<K, V> getSegment(Map<Class, Map<Method, BoundedCache<K, V>>> cache, Class api, Method method) {
+        Map<Method, BoundedCache<K, V>> methodMap = cache.get(api);
+        return methodMap == null ? null : methodMap.get(method);
+    }
+
+    private static <K, V> BoundedCache<K, V> segment(Map<Class, Map<Method, BoundedCache<K, V>>> cache, Class api, Method method) {
+        return cache.computeIfAbsent(api, o -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new BoundedCache<>(maximumSize, stats));
+    }
+
+    private static int size(Map<Class, ? extends Map<Method, ? extends BoundedCache<?, ?>>> cache) {
+        int size = 0;
+        for (Map<Method, ? extends BoundedCache<?, ?>> methodMap : cache.values()) {
+            for (BoundedCache<?, ?> segment : methodMap.values()) {
+                size += segment.size();
+            }
+        }
+        return size;
     }
 
 }
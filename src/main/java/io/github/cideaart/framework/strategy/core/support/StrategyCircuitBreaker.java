@@ -0,0 +1,169 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分支熔断器，无锁实现
+ * 以环形数组记录最近{@code slidingWindowSize}次调用结果，失败率达到阈值后熔断，
+ * 熔断持续时间过后放行一次试探调用，成功则恢复，失败则继续熔断；
+ * 试探调用在期限（熔断持续时间，至少{@link #MIN_TRIAL_MILLIS}毫秒）内未记录结果时（如永不完成的future）按失败处理
+ *
+ * @author CIdea
+ */
+public final class StrategyCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    /**
+     * 试探调用的最短期限，避免熔断持续时间很短时试探调用尚未返回就放行下一次试探
+     */
+    static final long MIN_TRIAL_MILLIS = 1000;
+
+    private final int failureRateThreshold;
+
+    private final int minimumNumberOfCalls;
+
+    private final long waitNanos;
+
+    private final long trialNanos;
+
+    /**
+     * 最近调用结果，1为失败
+     */
+    private final AtomicIntegerArray window;
+
+    /**
+     * 累计记录次数，取模得到窗口下标
+     */
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * 窗口内失败次数
+     */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+
+    /**
+     * 熔断结束时间，{@link System#nanoTime()}
+     */
+    private volatile long openUntil;
+
+    /**
+     * 试探调用的期限，{@link System#nanoTime()}
+     */
+    private volatile long trialUntil;
+
+    public StrategyCircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls, long waitDurationMillis) {
+        this(failureRateThreshold, slidingWindowSize, minimumNumberOfCalls, waitDurationMillis, Math.max(waitDurationMillis, MIN_TRIAL_MILLIS));
+    }
+
+    StrategyCircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls, long waitDurationMillis, long trialTimeoutMillis) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("failureRateThreshold must be between 1 and 100");
+        }
+        if (slidingWindowSize <= 0 || minimumNumberOfCalls <= 0 || waitDurationMillis < 0) {
+            throw new IllegalArgumentException("slidingWindowSize and minimumNumberOfCalls must be positive, waitDuration must not be negative");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumNumberOfCalls = Math.min(minimumNumberOfCalls, slidingWindowSize);
+        this.waitNanos = waitDurationMillis * 1_000_000L;
+        this.trialNanos = trialTimeoutMillis * 1_000_000L;
+        this.window = new AtomicIntegerArray(slidingWindowSize);
+    }
+
+    /**
+     * 是否放行本次调用，熔断到期后只有一个调用获得试探机会
+     * 放行后须调用{@link #onSuccess()}或{@link #onFailure()}
+     */
+    public boolean tryAcquire() {
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (current == OPEN && now - openUntil >= 0) {
+            // 先写期限再切换状态，其它线程看到HALF_OPEN时期限已更新
+            trialUntil = now + trialNanos;
+            return state.compareAndSet(OPEN, HALF_OPEN);
+        }
+        if (current == HALF_OPEN && now - trialUntil >= 0) {
+            // 试探调用超期未记录结果，重新熔断，到期后再放行一次试探
+            open(HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        if (state.get() == HALF_OPEN) {
+            if (state.compareAndSet(HALF_OPEN, CLOSED)) {
+                reset();
+            }
+            return;
+        }
+        record(0);
+    }
+
+    public void onFailure() {
+        if (state.get() == HALF_OPEN) {
+            open(HALF_OPEN);
+            return;
+        }
+        record(1);
+        long recorded = calls.get();
+        if (recorded < minimumNumberOfCalls) {
+            return;
+        }
+        long size = Math.min(recorded, window.length());
+        if (failures.get() * 100L >= failureRateThreshold * size) {
+            open(CLOSED);
+        }
+    }
+
+    public State getState() {
+        return State.values()[state.get()];
+    }
+
+    /**
+     * 窗口内失败率，百分比，调用次数不足时返回-1
+     */
+    public float getFailureRate() {
+        long recorded = calls.get();
+        if (recorded < minimumNumberOfCalls) {
+            return -1;
+        }
+        return failures.get() * 100f / Math.min(recorded, window.length());
+    }
+
+    private void record(int failure) {
+        int index = (int) (calls.getAndIncrement() % window.length());
+        int previous = window.getAndSet(index, failure);
+        if (previous != failure) {
+            failures.addAndGet(failure - previous);
+        }
+    }
+
+    private void open(int expect) {
+        openUntil = System.nanoTime() + waitNanos;
+        state.compareAndSet(expect, OPEN);
+    }
+
+    /**
+     * 恢复后清空窗口，并发记录可能残留少量旧结果，不影响判断
+     */
+    private void reset() {
+        for (int i = 0; i < window.length(); i++) {
+            window.set(i, 0);
+        }
+        failures.set(0);
+        calls.set(0);
+    }
+}
@@ -0,0 +1,334 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * API的预编译分派表（不可变）
+ * 由{@link StrategyRegistry}在注册完成后为每个API生成，代理方法按下标编号，routeKey映射为按方法下标排列的执行数组，
+ * 主干执行数组也预先解析，调用时只需一次hash查找和一次数组读取
+ *
+ * @author CIdea
+ */
+public final class StrategyDispatchTable {
+
+    /**
+     * 数字routeKey按下标分派的上限，超出的code按字符串查找
+     */
+    private static final int MAX_DENSE_CODE = 1 << 16;
+
+    private static final Invocation[][] EMPTY_CODE_BRANCHES = new Invocation[0][];
+
+    /**
+     * 路由API
+     */
+    private final Class<?> api;
+
+    /**
+     * 代理方法: 方法下标
+     */
+    private final Map<Method, Integer> methodIndexes;
+
+    /**
+     * 按下标排列的代理方法
+     */
+    private final Method[] methods;
+
+    /**
+     * routeKey: 按方法下标排列的分支执行对象，分支无对应方法时为null
+     */
+    private final Map<String, Invocation[]> branches;
+
+    /**
+     * code: 按方法下标排列的分支执行对象，下标为非负数字routeKey
+     */
+    private final Invocation[][] codeBranches;
+
+    /**
+     * 通配routeKey的匹配自动机，API无通配routeKey时为null
+     */
+    private final RouteKeyPatterns routeKeyPatterns;
+
+    /**
+     * 层级routeKey的前缀树，API未声明{@link StrategyAPI#keySeparator()}时为null
+     */
+    private final RouteKeyTrie routeKeyTrie;
+
+    /**
+     * 按方法下标排列的主干执行对象，无主干或主干无对应方法时为null
+     */
+    private final Invocation[] masters;
+
+    /**
+     * 是否存在主干
+     */
+    private final boolean hasMaster;
+
+    /**
+     * 按方法下标排列的声明式routeKey解析，未声明时为null
+     */
+    private final RouteKeyResolver[] routeKeyResolvers;
+
+    /**
+     * 降级配置，API未标记{@link io.github.cideaart.framework.strategy.core.annotation.StrategyFallback}时为null
+     */
+    private final StrategyFallbackPolicy fallbackPolicy;
+
+    /**
+     * 分支bean: 熔断器
+     */
+    private final Map<Object, StrategyCircuitBreaker> circuitBreakers;
+
+    StrategyDispatchTable(Class<?> api, Method[] methods, Map<String, Invocation[]> branches, Invocation[] masters, boolean hasMaster,
+                          StrategyFallbackPolicy fallbackPolicy, Map<Object, StrategyCircuitBreaker> circuitBreakers, CacheStats patternStats) {
+        this.api = api;
+        this.methods = methods;
+        Map<Method, Integer> indexes = new HashMap<>(methods.length * 2);
+        for (int i = 0; i < methods.length; i++) {
+            indexes.put(methods[i], i);
+        }
+        this.methodIndexes = indexes;
+        this.branches = branches;
+        Map<String, Invocation[]> exactBranches = new HashMap<>(branches.size() * 2);
+        Map<String, Invocation[]> patternBranches = new HashMap<>();
+        for (Map.Entry<String, Invocation[]> entry : branches.entrySet()) {
+            (RouteKeyPatterns.isPattern(entry.getKey()) ? patternBranches : exactBranches).put(entry.getKey(), entry.getValue());
+        }
+        this.codeBranches = compileCodeBranches(exactBranches);
+        this.routeKeyPatterns = patternBranches.isEmpty() ? null : new RouteKeyPatterns(patternBranches, patternStats);
+        this.routeKeyTrie = compileRouteKeyTrie(api, exactBranches);
+        this.masters = masters;
+        this.hasMaster = hasMaster;
+        this.fallbackPolicy = fallbackPolicy;
+        this.circuitBreakers = circuitBreakers;
+        this.routeKeyResolvers = new RouteKeyResolver[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            routeKeyResolvers[i] = RouteKeyResolver.forMethod(api, methods[i]);
+        }
+    }
+
+    /**
+     * 获取代理方法下标
+     *
+     * @param method 代理方法
+     * @return 下标，不在表中时返回-1
+     */
+    public int indexOf(Method method) {
+        Integer index = methodIndexes.get(method);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取routeKey对应的分支执行对象
+     *
+     * @param routeKey routeKey
+     * @param index    方法下标
+     * @return 未匹配分支或分支无对应方法时返回null
+     */
+    public Invocation getBranch(String routeKey, int index) {
+        if (routeKey == null) {
+            return null;
+        }
+        Invocation[] invocations = branches.get(routeKey);
+        if (invocations != null && invocations[index] != null) {
+            return invocations[index];
+        }
+        // 未精确匹配时依次按通配、层级routeKey匹配
+        if (routeKeyPatterns != null) {
+            Invocation[] matched = routeKeyPatterns.match(routeKey);
+            if (matched != null && matched[index] != null) {
+                return matched[index];
+            }
+        }
+        return routeKeyTrie == null ? null : routeKeyTrie.match(routeKey, index);
+    }
+
+    /**
+     * 按顺序匹配routeKeys，返回第一个命中的分支执行对象
+     */
+    public Invocation getBranch(String[] routeKeys, int index) {
+        if (routeKeys == null) {
+            return null;
+        }
+        Invocation invocation;
+        for (String routeKey : routeKeys) {
+            if ((invocation = getBranch(routeKey, index)) != null) {
+                return invocation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取数字routeKey对应的分支执行对象
+     *
+     * @param routeCode 数字routeKey
+     * @param index     方法下标
+     * @return 未匹配分支或分支无对应方法时返回null
+     */
+    public Invocation getBranch(int routeCode, int index) {
+        if (routeCode >= 0 && routeCode < MAX_DENSE_CODE) {
+            Invocation[][] codeBranches = this.codeBranches;
+            if (routeCode < codeBranches.length) {
+                Invocation[] invocations = codeBranches[routeCode];
+                if (invocations != null && invocations[index] != null) {
+                    return invocations[index];
+                }
+            }
+            if (routeKeyPatterns == null && routeKeyTrie == null) {
+                // 范围内未注册
+                return null;
+            }
+        }
+        // 未按下标命中时与字符串routeKey一致，依次按通配、层级routeKey匹配
+        return getBranch(String.valueOf(routeCode), index);
+    }
+
+    /**
+     * 按枚举下标排列的分支执行对象，分支按{@link Enum#name()}匹配
+     * 每个方法与字符串routeKey一致，依次按精确、通配、层级routeKey匹配
+     *
+     * @param enumType 枚举类型
+     * @return ordinal: 按方法下标排列的分支执行对象，未匹配分支时为null
+     */
+    public Invocation[][] getEnumBranches(Class<? extends Enum<?>> enumType) {
+        Enum<?>[] constants = enumType.getEnumConstants();
+        Invocation[][] enumBranches = new Invocation[constants.length][];
+        for (Enum<?> constant : constants) {
+            Invocation[] invocations = new Invocation[methods.length];
+            boolean matched = false;
+            for (int i = 0; i < methods.length; i++) {
+                invocations[i] = getBranch(constant.name(), i);
+                matched |= invocations[i] != null;
+            }
+            enumBranches[constant.ordinal()] = matched ? invocations : null;
+        }
+        return enumBranches;
+    }
+
+    /**
+     * 获取主干执行对象
+     *
+     * @param index 方法下标
+     * @return 无主干或主干无对应方法时返回null
+     */
+    public Invocation getMaster(int index) {
+        return masters[index];
+    }
+
+    /**
+     * 获取声明式routeKey解析
+     *
+     * @param index 方法下标
+     * @return 未声明时返回null
+     */
+    public RouteKeyResolver getRouteKeyResolver(int index) {
+        return routeKeyResolvers[index];
+    }
+
+    /**
+     * 获取降级配置
+     *
+     * @return 未启用降级时返回null
+     */
+    public StrategyFallbackPolicy getFallbackPolicy() {
+        return fallbackPolicy;
+    }
+
+    /**
+     * 获取分支的熔断器
+     *
+     * @param bean 分支bean
+     * @return 未启用降级或非分支bean时返回null
+     */
+    public StrategyCircuitBreaker getCircuitBreaker(Object bean) {
+        return circuitBreakers.get(bean);
+    }
+
+    public boolean hasMaster() {
+        return hasMaster;
+    }
+
+    public Class<?> getApi() {
+        return api;
+    }
+
+    public Method getMethod(int index) {
+        return methods[index];
+    }
+
+    public int getMethodCount() {
+        return methods.length;
+    }
+
+    public Map<String, Invocation[]> getBranches() {
+        return Collections.unmodifiableMap(branches);
+    }
+
+    /**
+     * API声明了{@link StrategyAPI#keySeparator()}时构建前缀树
+     */
+    private static RouteKeyTrie compileRouteKeyTrie(Class<?> api, Map<String, Invocation[]> branches) {
+        String separator = getKeySeparator(api);
+        if (separator.isEmpty()) {
+            return null;
+        }
+        if (separator.length() != 1) {
+            throw new IllegalStateException("keySeparator of " + api.getName() + " must be a single character");
+        }
+        return new RouteKeyTrie(branches, separator.charAt(0));
+    }
+
+    /**
+     * 层级routeKey的分隔符，未声明时返回空字符串
+     */
+    static String getKeySeparator(Class<?> api) {
+        StrategyAPI annotation = AnnotationUtils.findAnnotation(api, StrategyAPI.class);
+        return annotation == null ? "" : annotation.keySeparator();
+    }
+
+    /**
+     * 十进制非负整数routeKey转为按code下标排列的数组
+     */
+    private static Invocation[][] compileCodeBranches(Map<String, Invocation[]> branches) {
+        int maxCode = -1;
+        for (String routeKey : branches.keySet()) {
+            maxCode = Math.max(maxCode, parseCode(routeKey));
+        }
+        if (maxCode < 0) {
+            return EMPTY_CODE_BRANCHES;
+        }
+        Invocation[][] codeBranches = new Invocation[maxCode + 1][];
+        for (Map.Entry<String, Invocation[]> entry : branches.entrySet()) {
+            int code = parseCode(entry.getKey());
+            if (code >= 0) {
+                codeBranches[code] = entry.getValue();
+            }
+        }
+        return codeBranches;
+    }
+
+    /**
+     * @return 可按下标分派的code，否则返回-1
+     */
+    private static int parseCode(String routeKey) {
+        if (routeKey.isEmpty() || routeKey.length() > 5) {
+            return -1;
+        }
+        for (int i = 0; i < routeKey.length(); i++) {
+            char c = routeKey.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        int code = Integer.parseInt(routeKey);
+        // 排除前导0等非规范写法
+        return code < MAX_DENSE_CODE && String.valueOf(code).equals(routeKey) ? code : -1;
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步分派、限流超时调用的默认执行器
+ *
+ * @author CIdea
+ */
+public final class StrategyExecutors {
+
+    private StrategyExecutors() {
+    }
+
+    /**
+     * JDK 21+的虚拟线程执行器，按反射获取以兼容Java 8编译
+     *
+     * @return 不支持时返回null
+     */
+    public static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 平台线程的有界线程池，守护线程，空闲线程60秒后回收，队列满时拒绝
+     *
+     * @param maxThreads    最大线程数
+     * @param queueCapacity 等待队列容量
+     */
+    public static ExecutorService boundedThreadPool(int maxThreads, int queueCapacity) {
+        return boundedThreadPool("strategy-async-", maxThreads, queueCapacity);
+    }
+
+    /**
+     * 平台线程的有界线程池，守护线程，空闲线程60秒后回收，队列满时拒绝
+     *
+     * @param threadNamePrefix 线程名前缀
+     * @param maxThreads       最大线程数
+     * @param queueCapacity    等待队列容量，0为不排队，线程用尽时直接拒绝
+     */
+    public static ExecutorService boundedThreadPool(String threadNamePrefix, int maxThreads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
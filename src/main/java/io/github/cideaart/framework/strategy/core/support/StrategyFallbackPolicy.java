@@ -0,0 +1,69 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyFallback;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * API的降级配置，由{@link StrategyRegistry}按{@link StrategyFallback}创建
+ * 分支熔断器按bean保存，注册表快照变更后保留熔断状态
+ *
+ * @author CIdea
+ */
+public final class StrategyFallbackPolicy {
+
+    private final StrategyFallback annotation;
+
+    private final Class<? extends Throwable>[] exceptions;
+
+    /**
+     * 分支bean: 熔断器
+     */
+    private final Map<Object, StrategyCircuitBreaker> circuitBreakers = new IdentityHashMap<>();
+
+    StrategyFallbackPolicy(StrategyFallback annotation) {
+        this.annotation = annotation;
+        this.exceptions = annotation.value();
+        // 提前校验参数
+        newCircuitBreaker();
+    }
+
+    /**
+     * 异常是否触发降级
+     */
+    public boolean isFallbackException(Throwable e) {
+        for (Class<? extends Throwable> exception : exceptions) {
+            if (exception.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取分支的熔断器，编译分派表时调用
+     *
+     * @return 分支bean: 熔断器，不可变
+     */
+    synchronized Map<Object, StrategyCircuitBreaker> getCircuitBreakers(Collection<Object> beans) {
+        Map<Object, StrategyCircuitBreaker> breakers = new IdentityHashMap<>(beans.size() * 2);
+        for (Object bean : beans) {
+            breakers.put(bean, circuitBreakers.computeIfAbsent(bean, b -> newCircuitBreaker()));
+        }
+        return breakers;
+    }
+
+    /**
+     * 移除已注销分支的熔断器
+     */
+    synchronized void remove(Object bean) {
+        circuitBreakers.remove(bean);
+    }
+
+    private StrategyCircuitBreaker newCircuitBreaker() {
+        return new StrategyCircuitBreaker(annotation.failureRateThreshold(), annotation.slidingWindowSize(),
+                annotation.minimumNumberOfCalls(), annotation.waitDurationInOpenState());
+    }
+}
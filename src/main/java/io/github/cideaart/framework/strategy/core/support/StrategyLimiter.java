@@ -0,0 +1,122 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分支限制，无锁实现
+ * 并发数为CAS计数的信号量；速率为GCRA形式的令牌桶，只保存一个理论到达时间，每次调用一次CAS
+ *
+ * @author CIdea
+ */
+public final class StrategyLimiter {
+
+    private final int maxConcurrentCalls;
+
+    /**
+     * 每个令牌的间隔，纳秒，0为不限速
+     */
+    private final long intervalNanos;
+
+    /**
+     * 允许提前消耗的时间，对应桶容量
+     */
+    private final long burstNanos;
+
+    private final long timeoutNanos;
+
+    private final boolean fallbackToMaster;
+
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+    /**
+     * 令牌桶的理论到达时间，{@link System#nanoTime()}
+     */
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    public StrategyLimiter(int maxConcurrentCalls, double permitsPerSecond, int burst, long timeoutMillis, boolean fallbackToMaster) {
+        if (maxConcurrentCalls < 0 || permitsPerSecond < 0 || burst < 1 || timeoutMillis < 0) {
+            throw new IllegalArgumentException("limits must not be negative and burst must be positive");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.intervalNanos = permitsPerSecond == 0 ? 0 : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.fallbackToMaster = fallbackToMaster;
+    }
+
+    /**
+     * 是否有任何限制
+     */
+    public boolean isEnabled() {
+        return maxConcurrentCalls > 0 || intervalNanos > 0 || timeoutNanos > 0;
+    }
+
+    /**
+     * 获取并发许可和令牌，成功后须调用{@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (!tryAcquireConcurrent()) {
+            return false;
+        }
+        if (!tryAcquireRate()) {
+            release();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 归还并发许可
+     */
+    public void release() {
+        if (maxConcurrentCalls > 0) {
+            concurrentCalls.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquireConcurrent() {
+        if (maxConcurrentCalls <= 0) {
+            return true;
+        }
+        for (; ; ) {
+            int current = concurrentCalls.get();
+            if (current >= maxConcurrentCalls) {
+                return false;
+            }
+            if (concurrentCalls.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean tryAcquireRate() {
+        if (intervalNanos == 0) {
+            return true;
+        }
+        for (; ; ) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            if (arrival - now > burstNanos) {
+                return false;
+            }
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getConcurrentCalls() {
+        return concurrentCalls.get();
+    }
+
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    public boolean isFallbackToMaster() {
+        return fallbackToMaster;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.lang.reflect.Method;
+
+/**
+ * 分派指标
+ * 注册表编译分派表时包装执行对象，指标随分派表一次性注册，调用时不再查找
+ *
+ * @author CIdea
+ */
+public interface StrategyMetrics {
+
+    /**
+     * 不记录指标
+     */
+    StrategyMetrics NONE = (api, method, bean, master, invocation) -> invocation;
+
+    /**
+     * 包装执行对象
+     *
+     * @param api        路由API
+     * @param method     代理方法
+     * @param bean       分支或主干bean
+     * @param master     是否主干
+     * @param invocation 执行对象
+     * @return 包装后的执行对象
+     */
+    Invocation decorate(Class<?> api, Method method, Object bean, boolean master, Invocation invocation);
+
+    /**
+     * 绑定注册表，用于注册表、缓存的容量指标
+     */
+    default void bind(StrategyRegistry registry) {
+    }
+}
@@ -1,21 +1,39 @@
 package io.github.cideaart.framework.strategy.core.support;
 
+import io.github.cideaart.framework.strategy.config.StrategyProperties;
 import io.github.cideaart.framework.strategy.core.annotation.*;
+import io.github.cideaart.framework.strategy.core.factory.StrategyFactoryBean;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotationConfigurationException;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -23,20 +41,96 @@ import java.util.stream.Collectors;
  *
  * @author CIdea
  */
-public class StrategyRegistry implements InitializingBean, ApplicationContextAware {
+@EnableConfigurationProperties(StrategyProperties.class)
+public class StrategyRegistry implements InitializingBean, DisposableBean, ApplicationContextAware, ApplicationListener<ApplicationEvent> {
+
+    private static final String PROPERTIES_PREFIX = "cidea.strategy";
+
+    /**
+     * Spring Cloud配置变更事件，按类名匹配，不依赖Spring Cloud
+     */
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
 
     private Logger log = LoggerFactory.getLogger(StrategyRegistry.class);
 
     private ApplicationContext applicationContext;
 
+    private StrategyProperties properties;
+
+    /**
+     * 当前注册表快照，变更时整体替换，读取不加锁
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 主干、分支是否已注册，延迟模式下首次调用时注册
+     */
+    private volatile boolean registered;
+
+    /**
+     * 注册表版本，代理据此刷新缓存的分派表和路由
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 执行对象创建策略
+     */
+    private InvocationFactory invocationFactory = InvocationFactory.METHOD_HANDLE;
+
+    /**
+     * 分派指标
+     */
+    private StrategyMetrics metrics = StrategyMetrics.NONE;
+
+    /**
+     * 默认异步执行器，首次编译异步方法时创建
+     */
+    private volatile Executor asyncExecutor;
+
     /**
-     * api的masterBean注册表
+     * 由注册表创建的执行器，销毁时关闭
      */
-    private final Map<Class<?>, Object> apiMasterBeans = new HashMap<>();
+    private volatile ExecutorService ownedAsyncExecutor;
+
+    /**
+     * 限流超时调用的执行器，与异步执行器分开，超时后仍在执行的分支不占用异步分派的线程
+     */
+    private volatile Executor limitExecutor;
+
+    /**
+     * 由注册表创建的限流执行器，销毁时关闭
+     */
+    private volatile ExecutorService ownedLimitExecutor;
+
+    /**
+     * API: 降级配置，跨快照保留熔断状态
+     */
+    private final Map<Class<?>, StrategyFallbackPolicy> fallbackPolicies = new ConcurrentHashMap<>();
+
     /**
-     * api的branchBean注册表
+     * 分支bean: 分支限制，跨快照保留计数
      */
-    private final Map<Class<?>, Map<String, Object>> apiBranchBeans = new HashMap<>();
+    private final Map<Object, StrategyLimiter> branchLimiters = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * routeKey: 配置的限制
+     */
+    private final Map<String, StrategyLimiter> routeKeyLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * 分支或主干bean: 方法: 结果缓存，跨快照保留，bean注销或替换时清空
+     */
+    private final Map<Object, Map<Method, BoundedCache<Object, MemoizedInvocation.Entry>>> memoizeCaches = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * 结果缓存统计
+     */
+    private final CacheStats memoizeStats = new CacheStats();
+
+    /**
+     * 通配routeKey匹配缓存统计，跨注册表变更累计
+     */
+    private final CacheStats patternStats = new CacheStats();
 
     /**
      * 获取masterBean
@@ -45,11 +139,16 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
      * @return
      */
     public <T> T getMasterBean(Class<T> clz) {
-        Object masterBean = apiMasterBeans.get(clz);
+        ensureRegistered();
+        return getMasterBean(snapshot, clz);
+    }
+
+    private static <T> T getMasterBean(Snapshot snapshot, Class<T> clz) {
+        Object masterBean = snapshot.masterBeans.get(clz);
         if (masterBean == null && !clz.isInterface()) {
             List<Object> candidateBeanList = new ArrayList<>();
             for (Class<?> api : getApis(clz)) {
-                Object candidateBean = apiMasterBeans.get(api);
+                Object candidateBean = snapshot.masterBeans.get(api);
                 if (candidateBean != null) {
                     candidateBeanList.add(candidateBean);
                 }
@@ -66,7 +165,8 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
     }
 
     public <T> List<T> getBranchBean(Class<T> clz) {
-        Collection<Object> collection = Optional.ofNullable(apiBranchBeans.get(clz)).map(Map::values).orElse(new ArrayList<>(0));
+        ensureRegistered();
+        Collection<Object> collection = Optional.ofNullable(snapshot.branchBeans.get(clz)).map(Map::values).orElse(new ArrayList<>(0));
         return collection.stream().map(bean -> (T) bean).distinct().collect(Collectors.toList());
     }
 
@@ -78,10 +178,24 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
      * @return
      */
     public <T> T getBranchBean(Class<T> clz, String routeKey) {
-        Object branchBean = Optional.ofNullable(apiBranchBeans.get(clz)).map(m -> m.get(routeKey)).orElse(null);
+        ensureRegistered();
+        Snapshot snapshot = this.snapshot;
+        T branchBean = getBranchBean(snapshot, clz, routeKey);
+        String separator = branchBean == null && routeKey != null ? StrategyDispatchTable.getKeySeparator(clz) : "";
+        // 层级routeKey按最长前缀匹配
+        int end;
+        while (branchBean == null && !separator.isEmpty() && (end = routeKey.lastIndexOf(separator)) > 0) {
+            routeKey = routeKey.substring(0, end);
+            branchBean = getBranchBean(snapshot, clz, routeKey);
+        }
+        return branchBean;
+    }
+
+    private <T> T getBranchBean(Snapshot snapshot, Class<T> clz, String routeKey) {
+        Object branchBean = Optional.ofNullable(snapshot.branchBeans.get(clz)).map(m -> m.get(routeKey)).orElse(null);
         if (branchBean == null && !clz.isInterface()) {
             for (Class<?> api : getApis(clz)) {
-                Map<String, Object> candidateMap = apiBranchBeans.get(api);
+                Map<String, Object> candidateMap = snapshot.branchBeans.get(api);
                 if (candidateMap == null) {
                     continue;
                 }
@@ -99,17 +213,759 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
         return (T) branchBean;
     }
 
+    /**
+     * 获取api的分派表，快照发布时已预编译；未预编译的api（如仅通过父类注册的类API、延迟模式）在首次获取时编译，并发获取时只编译一次
+     *
+     * @param api
+     * @return
+     */
+    public StrategyDispatchTable getDispatchTable(Class<?> api) {
+        Snapshot snapshot = this.snapshot;
+        StrategyDispatchTable table = snapshot.dispatchTables.get(api);
+        if (table == null) {
+            ensureRegistered();
+            // 分派表随快照失效，按同一快照编译
+            Snapshot current = this.snapshot;
+            table = current.dispatchTables.computeIfAbsent(api, a -> compileDispatchTable(current, a));
+        }
+        return table;
+    }
+
+    /**
+     * 运行时注册分支，routeKey、权重取自bean上的{@link StrategyBranch}
+     * 发布新的注册表快照，已编译的分派表和{@link StrategyCache}失效
+     *
+     * @param bean 分支bean
+     */
+    public synchronized void registerBranch(Object bean) {
+        ensureRegistered();
+        List<StrategyBranch> branchList = getRuntimeBranchAnnotations(bean);
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>(current.declaredBranchBeans);
+        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>(current.branchWeights);
+        for (StrategyBranch branch : branchList) {
+            addBranch(branchBeans, branchWeights, bean, getBranchKeys(branch), branch.weight());
+        }
+        log.info("registry branch, bean = {}", AopUtils.getTargetClass(bean).getName());
+        publish(new Snapshot(current.masterBeans, branchBeans, branchWeights, current.routeBranchBeans));
+    }
+
+    /**
+     * 运行时以指定routeKey注册分支，冲突规则与启动注册一致，冲突时抛出异常且注册表不变
+     *
+     * @param bean      分支bean
+     * @param routeKeys routeKey
+     */
+    public void registerBranch(Object bean, String... routeKeys) {
+        registerBranch(bean, 0, routeKeys);
+    }
+
+    /**
+     * 运行时以指定routeKey、权重注册分支，权重大于0时加入routeKey已有的权重分流
+     *
+     * @param bean      分支bean
+     * @param weight    分流权重，0表示不参与分流
+     * @param routeKeys routeKey
+     */
+    public synchronized void registerBranch(Object bean, int weight, String... routeKeys) {
+        ensureRegistered();
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>(current.declaredBranchBeans);
+        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>(current.branchWeights);
+        addBranch(branchBeans, branchWeights, bean, routeKeys, weight);
+        log.info("registry branch, bean = {}, weight = {}, keys = [{}]", AopUtils.getTargetClass(bean).getName(), weight, String.join(",", routeKeys));
+        publish(new Snapshot(current.masterBeans, branchBeans, branchWeights, current.routeBranchBeans));
+    }
+
+    /**
+     * 运行时注销分支，移除该bean注册的所有routeKey
+     *
+     * @param bean 分支bean
+     * @return 是否有routeKey被移除
+     */
+    public synchronized boolean unregisterBranch(Object bean) {
+        ensureRegistered();
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>(current.declaredBranchBeans);
+        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>(current.branchWeights);
+        Map<Class<?>, Map<String, Object>> routeBeans = new HashMap<>(current.routeBranchBeans);
+        // 配置指定的routeKey一并移除
+        boolean removed = removeBranch(branchBeans, branchWeights, bean);
+        removed = removeBranch(routeBeans, new HashMap<>(), bean) || removed;
+        if (!removed) {
+            return false;
+        }
+        log.info("unregistry branch, bean = {}", AopUtils.getTargetClass(bean).getName());
+        fallbackPolicies.values().forEach(policy -> policy.remove(bean));
+        branchLimiters.remove(bean);
+        removeMemoized(bean);
+        publish(new Snapshot(current.masterBeans, branchBeans, branchWeights, routeBeans));
+        return true;
+    }
+
+    /**
+     * 运行时替换分支，注销旧bean并注册新bean（routeKey、权重取自新bean的{@link StrategyBranch}），在同一快照中生效
+     *
+     * @param oldBean 被替换的分支bean
+     * @param newBean 新分支bean
+     */
+    public synchronized void replaceBranch(Object oldBean, Object newBean) {
+        ensureRegistered();
+        List<StrategyBranch> branchList = getRuntimeBranchAnnotations(newBean);
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>(current.declaredBranchBeans);
+        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>(current.branchWeights);
+        removeBranch(branchBeans, branchWeights, oldBean);
+        fallbackPolicies.values().forEach(policy -> policy.remove(oldBean));
+        branchLimiters.remove(oldBean);
+        removeMemoized(oldBean);
+        for (StrategyBranch branch : branchList) {
+            addBranch(branchBeans, branchWeights, newBean, getBranchKeys(branch), branch.weight());
+        }
+        log.info("replace branch, old = {}, new = {}", AopUtils.getTargetClass(oldBean).getName(), AopUtils.getTargetClass(newBean).getName());
+        publish(new Snapshot(current.masterBeans, branchBeans, branchWeights, current.routeBranchBeans));
+    }
+
+    /**
+     * 运行时调整分支在routeKey上的分流权重，如灰度从5%调到50%
+     * 权重大于0时加入或更新分流，0时退出分流，分流只剩一个分支时该分支承接全部流量
+     *
+     * @param bean     已注册到routeKey的分支bean
+     * @param routeKey routeKey
+     * @param weight   分流权重
+     */
+    public synchronized void setBranchWeight(Object bean, String routeKey, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        ensureRegistered();
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>(current.declaredBranchBeans);
+        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>(current.branchWeights);
+        boolean found = false;
+        for (Class<?> api : getApis(bean)) {
+            Map<String, Object> beans = branchBeans.get(api);
+            Map<Object, Integer> group = Optional.ofNullable(branchWeights.get(api)).map(m -> m.get(routeKey)).orElse(null);
+            boolean registeredKey = beans != null && beans.get(routeKey) == bean;
+            if (!registeredKey && (group == null || !group.containsKey(bean))) {
+                continue;
+            }
+            found = true;
+            Map<String, Map<Object, Integer>> weights = copyWeights(branchWeights.get(api));
+            group = group == null ? new LinkedHashMap<>() : new LinkedHashMap<>(group);
+            if (weight > 0) {
+                group.put(bean, weight);
+            } else {
+                group.remove(bean);
+            }
+            if (group.isEmpty()) {
+                weights.remove(routeKey);
+            } else {
+                weights.put(routeKey, group);
+                if (!group.containsKey(beans.get(routeKey))) {
+                    // 代表分支退出分流时由剩余分支代表
+                    beans = new HashMap<>(beans);
+                    beans.put(routeKey, group.keySet().iterator().next());
+                    branchBeans.put(api, beans);
+                }
+            }
+            branchWeights.put(api, weights);
+        }
+        if (!found) {
+            throw new IllegalArgumentException("bean `" + AopUtils.getTargetClass(bean).getName() + "` is not registered for route key `" + routeKey + "`");
+        }
+        log.info("set branch weight, bean = {}, routeKey = {}, weight = {}", AopUtils.getTargetClass(bean).getName(), routeKey, weight);
+        publish(new Snapshot(current.masterBeans, branchBeans, branchWeights, current.routeBranchBeans));
+    }
+
+    /**
+     * 按当前Environment重新绑定`cidea.strategy.routes`，在调用路径之外构建新的映射并原子替换
+     * 收到Spring Cloud的EnvironmentChangeEvent时自动调用
+     */
+    public synchronized void refreshRoutes() {
+        if (!registered) {
+            // 尚未注册，注册时读取最新配置
+            return;
+        }
+        Snapshot current = this.snapshot;
+        Map<Class<?>, Map<String, Object>> routeBeans = resolveRoutes();
+        if (routeBeans.equals(current.routeBranchBeans)) {
+            return;
+        }
+        log.info("refresh strategy routes, apis = [{}]", routeBeans.keySet().stream().map(Class::getName).collect(Collectors.joining(",")));
+        publish(new Snapshot(current.masterBeans, current.declaredBranchBeans, current.branchWeights, routeBeans));
+    }
+
+    /**
+     * 读取配置的routeKey映射，api: routeKey: 分支bean
+     * bean不存在或routeKey冲突时抛出异常
+     */
+    private Map<Class<?>, Map<String, Object>> resolveRoutes() {
+        // 直接从Environment绑定，不依赖配置bean的重新绑定顺序
+        Map<String, List<String>> routes = Binder.get(applicationContext.getEnvironment())
+                .bindOrCreate(PROPERTIES_PREFIX, StrategyProperties.class).getRoutes();
+        Map<Class<?>, Map<String, Object>> routeBeans = new HashMap<>();
+        Map<Class<?>, Map<String, String>> routeBeanNames = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : routes.entrySet()) {
+            String beanName = entry.getKey();
+            Object bean = applicationContext.getBean(beanName);
+            Set<Class<?>> apis = getApis(bean);
+            if (apis.isEmpty()) {
+                throw new IllegalStateException("strategy route bean `" + beanName + "` has not api");
+            }
+            for (Class<?> api : apis) {
+                Map<String, Object> beans = routeBeans.computeIfAbsent(api, k -> new HashMap<>());
+                Map<String, String> beanNames = routeBeanNames.computeIfAbsent(api, k -> new HashMap<>());
+                for (String routeKey : entry.getValue()) {
+                    String lastBeanName = beanNames.put(routeKey.trim(), beanName);
+                    if (lastBeanName != null && !lastBeanName.equals(beanName)) {
+                        throw new IllegalStateException(api.getName() + " strategy route key `" + routeKey + "` conflict, beans = "
+                                + lastBeanName + "," + beanName);
+                    }
+                    beans.put(routeKey.trim(), bean);
+                }
+            }
+        }
+        return routeBeans;
+    }
+
+    private List<StrategyBranch> getRuntimeBranchAnnotations(Object bean) {
+        List<StrategyBranch> branchList = getBranchAnnotations(AopUtils.getTargetClass(bean));
+        if (CollectionUtils.isEmpty(branchList)) {
+            throw new IllegalArgumentException("bean `" + AopUtils.getTargetClass(bean).getName() + "` has not @StrategyBranch");
+        }
+        return branchList;
+    }
+
+    /**
+     * 写时复制，只复制变更的API
+     */
+    private void addBranch(Map<Class<?>, Map<String, Object>> branchBeans, Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights,
+                           Object bean, String[] routeKeys, int weight) {
+        Set<Class<?>> apis = getApis(bean);
+        for (Class<?> api : apis) {
+            branchBeans.put(api, new HashMap<>(branchBeans.getOrDefault(api, Collections.emptyMap())));
+            branchWeights.put(api, copyWeights(branchWeights.get(api)));
+        }
+        putBranchBean(branchBeans, branchWeights, bean, routeKeys, weight, apis);
+    }
+
+    private static boolean removeBranch(Map<Class<?>, Map<String, Object>> branchBeans,
+                                        Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights, Object bean) {
+        boolean removed = false;
+        for (Map.Entry<Class<?>, Map<String, Map<Object, Integer>>> entry : branchWeights.entrySet()) {
+            if (entry.getValue().values().stream().noneMatch(group -> group.containsKey(bean))) {
+                continue;
+            }
+            Map<String, Map<Object, Integer>> weights = copyWeights(entry.getValue());
+            weights.values().forEach(group -> group.remove(bean));
+            weights.values().removeIf(Map::isEmpty);
+            entry.setValue(weights);
+        }
+        for (Map.Entry<Class<?>, Map<String, Object>> entry : branchBeans.entrySet()) {
+            if (!entry.getValue().containsValue(bean)) {
+                continue;
+            }
+            Map<String, Object> beans = new HashMap<>(entry.getValue());
+            beans.values().removeIf(candidate -> candidate == bean);
+            // 权重分流中的其它分支继续承接
+            Optional.ofNullable(branchWeights.get(entry.getKey())).ifPresent(weights -> weights.forEach((key, group) ->
+                    beans.putIfAbsent(key, group.keySet().iterator().next())));
+            entry.setValue(beans);
+            removed = true;
+        }
+        return removed;
+    }
+
+    private static Map<String, Map<Object, Integer>> copyWeights(Map<String, Map<Object, Integer>> weights) {
+        Map<String, Map<Object, Integer>> copy = new HashMap<>();
+        if (weights != null) {
+            weights.forEach((key, group) -> copy.put(key, new LinkedHashMap<>(group)));
+        }
+        return copy;
+    }
+
+    /**
+     * 发布快照：先在写线程中编译分派表，再替换快照、递增版本，代理看到新版本时一定能取到新快照，
+     * 调用线程不会在变更后编译分派表
+     */
+    private void publish(Snapshot next) {
+        publish(next, true);
+    }
+
+    /**
+     * @param precompile 是否预编译已注册api及上一快照中已编译api的分派表，之后发现的api在首次获取时编译
+     */
+    private void publish(Snapshot next, boolean precompile) {
+        if (precompile) {
+            Set<Class<?>> apis = new LinkedHashSet<>(next.masterBeans.keySet());
+            apis.addAll(next.branchBeans.keySet());
+            apis.addAll(this.snapshot.dispatchTables.keySet());
+            for (Class<?> api : apis) {
+                try {
+                    next.dispatchTables.put(api, compileDispatchTable(next, api));
+                } catch (RuntimeException e) {
+                    // 保持原有行为，冲突等异常延迟到调用时抛出
+                    log.warn("compile dispatch table failed, api = {}", api.getName(), e);
+                }
+            }
+        }
+        this.snapshot = next;
+        version.incrementAndGet();
+        StrategyCache.clear();
+    }
+
+    /**
+     * 创建执行对象
+     *
+     * @param method 执行方法
+     * @param bean   执行bean
+     * @return
+     */
+    public Invocation createInvocation(Method method, Object bean) {
+        return invocationFactory.create(method, bean);
+    }
+
+    /**
+     * 创建记录指标的执行对象，用于分派表未覆盖、动态匹配的方法
+     *
+     * @param api         路由API
+     * @param method      代理方法
+     * @param methodToUse 执行方法
+     * @param bean        执行bean
+     * @param master      是否主干
+     * @return
+     */
+    public Invocation createInvocation(Class<?> api, Method method, Method methodToUse, Object bean, boolean master) {
+        return metrics.decorate(api, method, bean, master, createInvocation(methodToUse, bean));
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
-        registryMasterBean();
-        registryBranchBean();
+        properties = applicationContext.getBeanProvider(StrategyProperties.class).getIfAvailable(StrategyProperties::new);
+        StrategyCache.setMaximumSize(properties.getCache().getMaximumSize());
+        invocationFactory = applicationContext.getBeanProvider(InvocationFactory.class).getIfAvailable(() -> InvocationFactory.METHOD_HANDLE);
+        metrics = applicationContext.getBeanProvider(StrategyMetrics.class).getIfAvailable(() -> StrategyMetrics.NONE);
+        if (properties.isLazy()) {
+            log.info("strategy lazy mode, registry and dispatch tables are built on first invocation");
+        } else {
+            ensureRegistered();
+            log.info("compiled dispatch tables, size = {}", this.snapshot.dispatchTables.size());
+        }
+        metrics.bind(this);
+    }
+
+    /**
+     * 注册主干、分支，只执行一次
+     */
+    private void ensureRegistered() {
+        if (registered) {
+            return;
+        }
+        synchronized (this) {
+            if (registered) {
+                return;
+            }
+            Map<Class<?>, Object> masterBeans = new HashMap<>();
+            Map<Class<?>, Map<String, Object>> branchBeans = new HashMap<>();
+            Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights = new HashMap<>();
+            registryMasterBean(masterBeans);
+            registryBranchBean(branchBeans, branchWeights);
+            // 注册表变更，原有匹配结果失效；延迟模式下分派表在各api首次调用时编译
+            publish(new Snapshot(masterBeans, branchBeans, branchWeights, resolveRoutes()), !properties.isLazy());
+            registered = true;
+        }
+    }
+
+    private StrategyDispatchTable compileDispatchTable(Snapshot snapshot, Class<?> api) {
+        Method[] methods = getProxiedMethods(api);
+        Executor[] executors = resolveAsyncExecutors(api, methods);
+        Object masterBean = getMasterBean(snapshot, api);
+        Invocation[] masters = masterBean == null ? new Invocation[methods.length]
+                : memoizeInvocations(masterBean, methods, executors, resolveInvocations(api, masterBean, methods, true, executors));
+        // 同一bean未限制的多个routeKey共用一组执行对象
+        Map<Object, Invocation[]> beanInvocations = new IdentityHashMap<>();
+        Set<Object> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<String, Invocation[]> branches = new HashMap<>();
+        for (String routeKey : getRouteKeys(snapshot, api)) {
+            Object branchBean = getBranchBean(snapshot, api, routeKey);
+            if (branchBean == null) {
+                continue;
+            }
+            Map<Object, Integer> group = getBranchWeights(snapshot, api, routeKey);
+            // routeKey的限制作用于分流前的各分支，分流对象保持不变
+            StrategyLimiter routeKeyLimiter = getRouteKeyLimiter(routeKey);
+            if (group == null) {
+                beans.add(branchBean);
+                branches.put(routeKey, getBranchInvocations(beanInvocations, api, branchBean, methods, executors, masters, routeKeyLimiter));
+                continue;
+            }
+            List<Invocation[]> groupInvocations = new ArrayList<>(group.size());
+            for (Object bean : group.keySet()) {
+                beans.add(bean);
+                groupInvocations.add(getBranchInvocations(beanInvocations, api, bean, methods, executors, masters, routeKeyLimiter));
+            }
+            branches.put(routeKey, weighInvocations(groupInvocations, group.values(), methods.length));
+        }
+        StrategyFallbackPolicy fallbackPolicy = resolveFallbackPolicy(api);
+        Map<Object, StrategyCircuitBreaker> circuitBreakers = fallbackPolicy == null
+                ? Collections.emptyMap() : fallbackPolicy.getCircuitBreakers(beans);
+        return new StrategyDispatchTable(api, methods, branches, masters, masterBean != null, fallbackPolicy, circuitBreakers, patternStats);
+    }
+
+    /**
+     * 分支在routeKey下的执行对象，未限制routeKey时同一bean共用一组执行对象
+     */
+    private Invocation[] getBranchInvocations(Map<Object, Invocation[]> beanInvocations, Class<?> api, Object bean, Method[] methods,
+                                              Executor[] executors, Invocation[] masters, StrategyLimiter routeKeyLimiter) {
+        if (routeKeyLimiter == null) {
+            return beanInvocations.computeIfAbsent(bean, b -> resolveBranchInvocations(api, b, methods, executors, masters, null));
+        }
+        return resolveBranchInvocations(api, bean, methods, executors, masters, routeKeyLimiter);
+    }
+
+    /**
+     * 分支执行对象，分支标记{@link StrategyLimit}、routeKey配置了限制时依次附加限制
+     *
+     * @param routeKeyLimiter routeKey的限制，可为null
+     */
+    private Invocation[] resolveBranchInvocations(Class<?> api, Object bean, Method[] methods, Executor[] executors, Invocation[] masters,
+                                                  StrategyLimiter routeKeyLimiter) {
+        Invocation[] invocations = resolveInvocations(api, bean, methods, false, executors);
+        StrategyLimit limit = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(bean), StrategyLimit.class);
+        if (limit != null) {
+            StrategyLimiter limiter = branchLimiters.computeIfAbsent(bean, b -> new StrategyLimiter(limit.maxConcurrentCalls(),
+                    limit.permitsPerSecond(), limit.burst(), limit.timeout(), limit.fallbackToMaster()));
+            if (limiter.isEnabled()) {
+                invocations = limitInvocations(invocations, limiter, masters);
+            }
+        }
+        if (routeKeyLimiter != null) {
+            invocations = limitInvocations(invocations, routeKeyLimiter, masters);
+        }
+        // 命中缓存时不占用限制，超出限制改由主干执行的结果不写入缓存；缓存按bean共用，各routeKey的命中结果一致
+        return memoizeInvocations(bean, methods, executors, invocations);
+    }
+
+    /**
+     * 为标记{@link StrategyMemoize}的方法附加结果缓存
+     */
+    private Invocation[] memoizeInvocations(Object bean, Method[] methods, Executor[] executors, Invocation[] invocations) {
+        for (int i = 0; i < methods.length; i++) {
+            StrategyMemoize memoize = AnnotationUtils.findAnnotation(methods[i], StrategyMemoize.class);
+            if (memoize == null || invocations[i] == null) {
+                continue;
+            }
+            if (executors[i] != null || methods[i].getReturnType() == void.class) {
+                log.warn("@StrategyMemoize ignored on async or void method, method = {}", methods[i]);
+                continue;
+            }
+            Method method = methods[i];
+            BoundedCache<Object, MemoizedInvocation.Entry> cache = memoizeCaches.computeIfAbsent(bean, b -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method, m -> new BoundedCache<>(memoize.maximumSize(), memoizeStats));
+            invocations[i] = new MemoizedInvocation(invocations[i], cache, TimeUnit.MILLISECONDS.toNanos(memoize.ttl()));
+        }
+        return invocations;
+    }
+
+    /**
+     * 清空bean的结果缓存，分支数据变化时调用
+     *
+     * @param bean 分支或主干bean
+     */
+    public void invalidateMemoized(Object bean) {
+        Map<Method, BoundedCache<Object, MemoizedInvocation.Entry>> caches = memoizeCaches.get(bean);
+        if (caches != null) {
+            caches.values().forEach(BoundedCache::clear);
+        }
+    }
+
+    /**
+     * 清空全部结果缓存
+     */
+    public void invalidateMemoized() {
+        synchronized (memoizeCaches) {
+            memoizeCaches.values().forEach(caches -> caches.values().forEach(BoundedCache::clear));
+        }
+    }
+
+    /**
+     * 结果缓存的命中、未命中、淘汰统计
+     */
+    public CacheStats getMemoizeStats() {
+        return memoizeStats;
+    }
+
+    /**
+     * 通配routeKey匹配缓存的命中、未命中、淘汰统计
+     */
+    public CacheStats getPatternStats() {
+        return patternStats;
+    }
+
+    /**
+     * bean注销或被替换时清空并移除结果缓存
+     */
+    private void removeMemoized(Object bean) {
+        invalidateMemoized(bean);
+        memoizeCaches.remove(bean);
+    }
+
+    /**
+     * `cidea.strategy.limits`中routeKey的限制，未配置时返回null
+     */
+    private StrategyLimiter getRouteKeyLimiter(String routeKey) {
+        StrategyProperties.Limit limit = properties.getLimits().get(routeKey);
+        if (limit == null) {
+            return null;
+        }
+        StrategyLimiter limiter = routeKeyLimiters.computeIfAbsent(routeKey, k -> new StrategyLimiter(limit.getMaxConcurrentCalls(),
+                limit.getPermitsPerSecond(), limit.getBurst(), limit.getTimeout().toMillis(), limit.isFallbackToMaster()));
+        return limiter.isEnabled() ? limiter : null;
+    }
+
+    private Invocation[] limitInvocations(Invocation[] invocations, StrategyLimiter limiter, Invocation[] masters) {
+        Executor executor = limiter.getTimeoutNanos() > 0 ? getLimitExecutor() : null;
+        Invocation[] limited = new Invocation[invocations.length];
+        for (int i = 0; i < invocations.length; i++) {
+            if (invocations[i] != null) {
+                limited[i] = new LimitedInvocation(invocations[i], limiter, masters[i], executor);
+            }
+        }
+        return limited;
+    }
+
+    /**
+     * API标记{@link StrategyFallback}时返回降级配置，否则返回null
+     */
+    private StrategyFallbackPolicy resolveFallbackPolicy(Class<?> api) {
+        StrategyFallback fallback = AnnotationUtils.findAnnotation(api, StrategyFallback.class);
+        return fallback == null ? null : fallbackPolicies.computeIfAbsent(api, a -> new StrategyFallbackPolicy(fallback));
+    }
+
+    /**
+     * routeKey的分流权重，配置指定routeKey或不足两个分支时返回null
+     */
+    private static Map<Object, Integer> getBranchWeights(Snapshot snapshot, Class<?> api, String routeKey) {
+        Set<Class<?>> apis = new LinkedHashSet<>();
+        apis.add(api);
+        if (!api.isInterface()) {
+            apis.addAll(getApis(api));
+        }
+        for (Class<?> candidateApi : apis) {
+            if (Optional.ofNullable(snapshot.routeBranchBeans.get(candidateApi)).map(m -> m.containsKey(routeKey)).orElse(false)) {
+                return null;
+            }
+            Map<Object, Integer> group = Optional.ofNullable(snapshot.branchWeights.get(candidateApi)).map(m -> m.get(routeKey)).orElse(null);
+            if (group != null) {
+                Set<Object> routed = snapshot.routedBeans.get(candidateApi);
+                if (routed != null && group.keySet().stream().anyMatch(routed::contains)) {
+                    group = new LinkedHashMap<>(group);
+                    group.keySet().removeIf(routed::contains);
+                }
+                return group.size() > 1 ? group : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按方法下标组合分流分支的执行对象，分支无对应方法时不参与该方法的分流
+     */
+    private static Invocation[] weighInvocations(List<Invocation[]> groupInvocations, Collection<Integer> weights, int methodCount) {
+        Integer[] groupWeights = weights.toArray(new Integer[0]);
+        Invocation[] weighted = new Invocation[methodCount];
+        for (int i = 0; i < methodCount; i++) {
+            List<Invocation> invocations = new ArrayList<>(groupInvocations.size());
+            List<Integer> invocationWeights = new ArrayList<>(groupInvocations.size());
+            for (int j = 0; j < groupInvocations.size(); j++) {
+                if (groupInvocations.get(j)[i] != null) {
+                    invocations.add(groupInvocations.get(j)[i]);
+                    invocationWeights.add(groupWeights[j]);
+                }
+            }
+            if (invocations.size() == 1) {
+                weighted[i] = invocations.get(0);
+            } else if (invocations.size() > 1) {
+                weighted[i] = new WeightedInvocation(invocations.toArray(new Invocation[0]),
+                        invocationWeights.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        return weighted;
+    }
+
+    /**
+     * api可被代理的方法
+     */
+    private static Method[] getProxiedMethods(Class<?> api) {
+        if (api.isInterface()) {
+            return Arrays.stream(api.getMethods())
+                    .filter(method -> !Modifier.isStatic(method.getModifiers()))
+                    .toArray(Method[]::new);
+        }
+        return ReflectionUtils.getUniqueDeclaredMethods(api, method -> {
+            int modifiers = method.getModifiers();
+            return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isPrivate(modifiers)
+                    && !ReflectionUtils.isObjectMethod(method);
+        });
+    }
+
+    /**
+     * api可匹配的所有routeKey，类API包含父类、接口注册的routeKey
+     */
+    private static Set<String> getRouteKeys(Snapshot snapshot, Class<?> api) {
+        Set<String> routeKeys = new HashSet<>();
+        Optional.ofNullable(snapshot.branchBeans.get(api)).map(Map::keySet).ifPresent(routeKeys::addAll);
+        if (!api.isInterface()) {
+            for (Class<?> candidateApi : getApis(api)) {
+                Optional.ofNullable(snapshot.branchBeans.get(candidateApi)).map(Map::keySet).ifPresent(routeKeys::addAll);
+            }
+        }
+        return routeKeys;
+    }
+
+    private Invocation[] resolveInvocations(Class<?> api, Object bean, Method[] methods, boolean master, Executor[] executors) {
+        Invocation[] invocations = new Invocation[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            Method methodToUse = MethodUtils.getMatchingAccessibleMethod(
+                    bean.getClass(), methods[i].getName(), methods[i].getParameterTypes());
+            if (methodToUse != null) {
+                checkReturnType(methods[i], methodToUse, bean);
+                invocations[i] = metrics.decorate(api, methods[i], bean, master, createInvocation(methodToUse, bean));
+                if (executors[i] != null) {
+                    invocations[i] = new AsyncInvocation(invocations[i], executors[i]);
+                }
+            }
+        }
+        return invocations;
+    }
+
+    /**
+     * 按名称和参数匹配的方法返回值须能由API方法承接，避免调用时才出现ClassCastException，如返回Mono的方法匹配到返回其它类型的方法
+     */
+    private static void checkReturnType(Method method, Method methodToUse, Object bean) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class || ClassUtils.isAssignable(returnType, methodToUse.getReturnType())) {
+            return;
+        }
+        throw new IllegalStateException("strategy bean `" + AopUtils.getTargetClass(bean).getName() + "` method `" + methodToUse.getName()
+                + "` returns " + methodToUse.getReturnType().getName() + ", not assignable to " + returnType.getName() + " of " + method);
+    }
+
+    /**
+     * 按方法下标排列的异步执行器，未标记{@link StrategyAsync}或返回值不是future的方法为null
+     */
+    private Executor[] resolveAsyncExecutors(Class<?> api, Method[] methods) {
+        Executor[] executors = new Executor[methods.length];
+        StrategyAsync apiAsync = AnnotationUtils.findAnnotation(api, StrategyAsync.class);
+        for (int i = 0; i < methods.length; i++) {
+            StrategyAsync async = AnnotationUtils.findAnnotation(methods[i], StrategyAsync.class);
+            if (async == null) {
+                async = apiAsync;
+            }
+            if (async == null) {
+                continue;
+            }
+            if (!AsyncInvocation.isAsyncReturnType(methods[i].getReturnType())) {
+                if (async != apiAsync) {
+                    log.warn("@StrategyAsync ignored, method does not return CompletableFuture: {}", methods[i]);
+                }
+                continue;
+            }
+            executors[i] = getAsyncExecutor(async.executor());
+        }
+        return executors;
+    }
+
+    /**
+     * 获取异步执行器
+     *
+     * @param beanName 执行器bean名称，为空时使用默认执行器
+     */
+    private Executor getAsyncExecutor(String beanName) {
+        if (StringUtils.isNotBlank(beanName)) {
+            return applicationContext.getBean(beanName, Executor.class);
+        }
+        Executor executor = this.asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.asyncExecutor;
+                if (executor == null) {
+                    executor = createAsyncExecutor();
+                    this.asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private Executor createAsyncExecutor() {
+        StrategyProperties.Async async = properties.getAsync();
+        if (StringUtils.isNotBlank(async.getExecutor())) {
+            return applicationContext.getBean(async.getExecutor(), Executor.class);
+        }
+        ExecutorService executor = async.isVirtualThreads() ? StrategyExecutors.virtualThreadPerTaskExecutor() : null;
+        if (executor != null) {
+            log.info("strategy async dispatch uses virtual threads");
+        } else {
+            executor = StrategyExecutors.boundedThreadPool(async.getMaxThreads(), async.getQueueCapacity());
+        }
+        ownedAsyncExecutor = executor;
+        return executor;
+    }
+
+    private Executor getLimitExecutor() {
+        Executor executor = this.limitExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.limitExecutor;
+                if (executor == null) {
+                    executor = createLimitExecutor();
+                    this.limitExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private Executor createLimitExecutor() {
+        StrategyProperties.LimitTimeout limitTimeout = properties.getLimitTimeout();
+        if (StringUtils.isNotBlank(limitTimeout.getExecutor())) {
+            return applicationContext.getBean(limitTimeout.getExecutor(), Executor.class);
+        }
+        ExecutorService executor = limitTimeout.isVirtualThreads() ? StrategyExecutors.virtualThreadPerTaskExecutor() : null;
+        if (executor == null) {
+            // 不排队，等待中的调用会在排队时超时，不如直接按超出限制处理
+            executor = StrategyExecutors.boundedThreadPool("strategy-limit-", limitTimeout.getMaxThreads(), 0);
+        }
+        ownedLimitExecutor = executor;
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        ExecutorService executor = this.ownedAsyncExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+        executor = this.ownedLimitExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
     }
 
     /**
      * 注册MasterBean
      */
-    private void registryMasterBean() {
-        Map<String, Object> beans = applicationContext.getBeansWithAnnotation(StrategyMaster.class);
+    private void registryMasterBean(Map<Class<?>, Object> apiMasterBeans) {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        for (String beanName : applicationContext.getBeanNamesForAnnotation(StrategyMaster.class)) {
+            // 类API的路由代理由StrategyFactoryBean创建，类型同为主干类但不是主干；跳过以免创建代理，延迟模式下未使用的类API不生成代理类
+            if (applicationContext.isTypeMatch(BeanFactory.FACTORY_BEAN_PREFIX + beanName, StrategyFactoryBean.class)) {
+                continue;
+            }
+            beans.put(beanName, applicationContext.getBean(beanName));
+        }
         for (Object bean : beans.values()) {
             // spring注册表会把branch上级的注解带过来，根据class再校验一次
             if (AnnotationUtils.getAnnotation(AopUtils.getTargetClass(bean), StrategyMaster.class) == null) {
@@ -129,7 +985,7 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
     /**
      * 注册BranchBean
      */
-    private void registryBranchBean() {
+    private void registryBranchBean(Map<Class<?>, Map<String, Object>> apiBranchBeans, Map<Class<?>, Map<String, Map<Object, Integer>>> apiBranchWeights) {
         Map<String, Object> beans = applicationContext.getBeansWithAnnotation(StrategyBranch.class);
         for (Object bean : beans.values()) {
             List<StrategyBranch> branchList = getBranchAnnotations(AopUtils.getTargetClass(bean));
@@ -146,48 +1002,69 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
             log.info("try registry branch, bean = {}, apis = [{}], keys = [{}]",
                     AopUtils.getTargetClass(bean).getName(),
                     apis.stream().map(Class::getName).collect(Collectors.joining(",")),
-                    branchList.stream().flatMap(b -> Arrays.stream(b.value())).filter(StringUtils::isNotBlank).distinct().collect(Collectors.joining(",")));
+                    branchList.stream().flatMap(b -> Arrays.stream(getBranchKeys(b))).filter(StringUtils::isNotBlank).distinct().collect(Collectors.joining(",")));
             if (CollectionUtils.isEmpty(apis)) {
                 continue;
             }
             for (StrategyBranch branch : branchList) {
-                if (branch.value() == null) {
+                putBranchBean(apiBranchBeans, apiBranchWeights, bean, getBranchKeys(branch), branch.weight(), apis);
+            }
+        }
+    }
+
+    /**
+     * 以routeKey注册分支，带权重的分支加入已有的权重分流，否则按primary、继承关系处理冲突
+     */
+    private void putBranchBean(Map<Class<?>, Map<String, Object>> apiBranchBeans, Map<Class<?>, Map<String, Map<Object, Integer>>> apiBranchWeights,
+                               Object bean, String[] branchKeys, int weight, Set<Class<?>> apis) {
+        if (branchKeys.length == 0) {
+            return;
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        for (Class<?> api : apis) {
+            Map<String, Object> branchBeans = apiBranchBeans.computeIfAbsent(api, k -> new HashMap<>());
+            Map<String, Map<Object, Integer>> branchWeights = apiBranchWeights.computeIfAbsent(api, k -> new HashMap<>());
+            for (String key : branchKeys) {
+                // 用branch的值注册进去
+                Object lastBean = branchBeans.get(key);
+                Map<Object, Integer> group = branchWeights.get(key);
+                if (weight > 0 && (lastBean == null || (group != null && group.containsKey(lastBean)))) {
+                    // 权重分流，首个分支作为代表
+                    branchWeights.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(bean, weight);
+                    branchBeans.putIfAbsent(key, bean);
                     continue;
                 }
-                for (Class<?> api : apis) {
-                    Map<String, Object> branchBeans = apiBranchBeans.computeIfAbsent(api, k -> new HashMap<>());
-                    for (String key : branch.value()) {
-                        // 用branch的值注册进去
-                        Object lastBean = branchBeans.get(key);
-                        if (lastBean != null && lastBean != bean) {
-                            // 查看是否有继承关系
-                            StrategyBranchPrimary lastPrimary = AnnotationUtils.getAnnotation(lastBean.getClass(), StrategyBranchPrimary.class);
-                            StrategyBranchPrimary primary = AnnotationUtils.getAnnotation(bean.getClass(), StrategyBranchPrimary.class);
-                            if (lastPrimary != null && primary != null) {
-                                // 不能两个primary
-                                throw new RuntimeException(api.getName() + " strategy branch primary key `" + key + "` conflict");
-                            } else if (primary != null) {
-                                // 设了primary，继续覆盖
-                                log.info("{} strategy branch key `{}`. primary = {}, discard = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
-                            } else if (lastPrimary != null) {
-                                // 上一个key是primary，跳过
-                                log.info("{} strategy branch key `{}`. primary = {}, discard = {}", api.getName(), key, lastBean.getClass().getName(), bean.getClass().getName());
-                                continue;
-                            } else if (ClassUtils.isAssignableValue(AopUtils.getTargetClass(lastBean), bean)) {
-                                // 子类允许覆盖父类
-                                log.info("{} strategy branch key `{}` cover. bean = {}, parent = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
-                            } else if (ClassUtils.isAssignableValue(AopUtils.getTargetClass(bean), lastBean)) {
-                                // 跳过父类
-                                log.info("{} strategy branch key `{}` skipped. bean = {}, child = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
-                                continue;
-                            } else {
-                                // log.error("{} strategy branch key `{}` conflict", api.getName(), key);
-                                throw new RuntimeException(api.getName() + " strategy branch key `" + key + "` conflict");
-                            }
-                        }
-                        branchBeans.put(key, bean);
+                if (lastBean != null && lastBean != bean) {
+                    // 查看是否有继承关系
+                    StrategyBranchPrimary lastPrimary = AnnotationUtils.getAnnotation(lastBean.getClass(), StrategyBranchPrimary.class);
+                    StrategyBranchPrimary primary = AnnotationUtils.getAnnotation(bean.getClass(), StrategyBranchPrimary.class);
+                    if (lastPrimary != null && primary != null) {
+                        // 不能两个primary
+                        throw new RuntimeException(api.getName() + " strategy branch primary key `" + key + "` conflict");
+                    } else if (primary != null) {
+                        // 设了primary，继续覆盖
+                        log.info("{} strategy branch key `{}`. primary = {}, discard = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
+                    } else if (lastPrimary != null) {
+                        // 上一个key是primary，跳过
+                        log.info("{} strategy branch key `{}`. primary = {}, discard = {}", api.getName(), key, lastBean.getClass().getName(), bean.getClass().getName());
+                        continue;
+                    } else if (ClassUtils.isAssignableValue(AopUtils.getTargetClass(lastBean), bean)) {
+                        // 子类允许覆盖父类
+                        log.info("{} strategy branch key `{}` cover. bean = {}, parent = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
+                    } else if (ClassUtils.isAssignableValue(AopUtils.getTargetClass(bean), lastBean)) {
+                        // 跳过父类
+                        log.info("{} strategy branch key `{}` skipped. bean = {}, child = {}", api.getName(), key, bean.getClass().getName(), lastBean.getClass().getName());
+                        continue;
+                    } else {
+                        // log.error("{} strategy branch key `{}` conflict", api.getName(), key);
+                        throw new RuntimeException(api.getName() + " strategy branch key `" + key + "` conflict");
                     }
                 }
+                // 不带权重的分支覆盖原有分流
+                branchWeights.remove(key);
+                branchBeans.put(key, bean);
             }
         }
     }
@@ -236,6 +1113,30 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
         return apis;
     }
 
+    /**
+     * 分支的routeKey，解析`${...}`占位符，数字映射值按十进制字符串注册
+     */
+    private String[] getBranchKeys(StrategyBranch branch) {
+        List<String> keys = new ArrayList<>();
+        for (String value : branch.value()) {
+            if (!value.contains("${")) {
+                keys.add(value);
+                continue;
+            }
+            // 占位符可解析为逗号分隔的多个值
+            String resolved = applicationContext.getEnvironment().resolveRequiredPlaceholders(value);
+            for (String key : resolved.split(",")) {
+                if (StringUtils.isNotBlank(key)) {
+                    keys.add(key.trim());
+                }
+            }
+        }
+        for (int code : branch.codes()) {
+            keys.add(String.valueOf(code));
+        }
+        return keys.toArray(new String[0]);
+    }
+
     private List<StrategyBranch> getBranchAnnotations(Class clazz) {
         List<StrategyBranch> strategyBranchList = new ArrayList<>();
         for (Annotation annotation : clazz.getAnnotations()) {
@@ -255,8 +1156,132 @@ public class StrategyRegistry implements InitializingBean, ApplicationContextAwa
         return strategyBranchList;
     }
 
+    /**
+     * 注册的分支routeKey数量
+     */
+    public int getBranchCount() {
+        int count = 0;
+        for (Map<String, Object> branchBeans : snapshot.branchBeans.values()) {
+            count += branchBeans.size();
+        }
+        return count;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            // 容器刷新后路由bean可能变化，通知代理重新获取
+            version.incrementAndGet();
+        } else if (ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName()) && isRoutesChanged(event)) {
+            // 配置错误不影响发布事件的线程，保留当前映射
+            try {
+                refreshRoutes();
+            } catch (RuntimeException e) {
+                log.error("refresh strategy routes failed, keep current routes", e);
+            }
+        }
+    }
+
+    private static boolean isRoutesChanged(ApplicationEvent event) {
+        Method getKeys = ReflectionUtils.findMethod(event.getClass(), "getKeys");
+        if (getKeys == null) {
+            return true;
+        }
+        Object keys = ReflectionUtils.invokeMethod(getKeys, event);
+        if (!(keys instanceof Collection)) {
+            return true;
+        }
+        for (Object key : (Collection<?>) keys) {
+            if (String.valueOf(key).startsWith(PROPERTIES_PREFIX + ".routes")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public StrategyProperties getProperties() {
+        return properties;
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    /**
+     * 不可变的注册表快照，分派表按快照缓存，快照替换后随之失效
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+        /**
+         * api的masterBean注册表
+         */
+        final Map<Class<?>, Object> masterBeans;
+        /**
+         * 注解声明及运行时注册的branchBean
+         */
+        final Map<Class<?>, Map<String, Object>> declaredBranchBeans;
+        /**
+         * 注解声明及运行时注册的分流权重，api: routeKey: 分支bean: 权重
+         */
+        final Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights;
+        /**
+         * 配置指定的branchBean，替换该bean注解声明的routeKey
+         */
+        final Map<Class<?>, Map<String, Object>> routeBranchBeans;
+        /**
+         * api: 配置指定routeKey的branchBean，不参与注解声明的分流
+         */
+        final Map<Class<?>, Set<Object>> routedBeans;
+        /**
+         * api的branchBean注册表，声明与配置合并的结果
+         */
+        final Map<Class<?>, Map<String, Object>> branchBeans;
+        /**
+         * api的预编译分派表
+         */
+        final Map<Class<?>, StrategyDispatchTable> dispatchTables = new ConcurrentHashMap<>();
+
+        Snapshot(Map<Class<?>, Object> masterBeans, Map<Class<?>, Map<String, Object>> declaredBranchBeans,
+                 Map<Class<?>, Map<String, Map<Object, Integer>>> branchWeights, Map<Class<?>, Map<String, Object>> routeBranchBeans) {
+            this.masterBeans = Collections.unmodifiableMap(masterBeans);
+            this.declaredBranchBeans = immutable(declaredBranchBeans);
+            Map<Class<?>, Map<String, Map<Object, Integer>>> weights = new HashMap<>(branchWeights.size() * 2);
+            branchWeights.forEach((api, groups) -> {
+                Map<String, Map<Object, Integer>> copy = new HashMap<>(groups.size() * 2);
+                groups.forEach((key, group) -> copy.put(key, Collections.unmodifiableMap(new LinkedHashMap<>(group))));
+                weights.put(api, Collections.unmodifiableMap(copy));
+            });
+            this.branchWeights = Collections.unmodifiableMap(weights);
+            this.routeBranchBeans = immutable(routeBranchBeans);
+            Map<Class<?>, Map<String, Object>> merged = new HashMap<>(declaredBranchBeans);
+            Map<Class<?>, Set<Object>> routed = new HashMap<>(routeBranchBeans.size() * 2);
+            routeBranchBeans.forEach((api, beans) -> {
+                Set<Object> apiRouted = Collections.newSetFromMap(new IdentityHashMap<>());
+                apiRouted.addAll(beans.values());
+                Map<String, Object> mergedBeans = new HashMap<>(merged.getOrDefault(api, Collections.emptyMap()));
+                mergedBeans.values().removeIf(apiRouted::contains);
+                // 权重分流中的其它分支继续承接
+                Optional.ofNullable(branchWeights.get(api)).ifPresent(groups -> groups.forEach((key, group) -> group.keySet().stream()
+                        .filter(bean -> !apiRouted.contains(bean)).findFirst().ifPresent(bean -> mergedBeans.putIfAbsent(key, bean))));
+                mergedBeans.putAll(beans);
+                merged.put(api, mergedBeans);
+                routed.put(api, Collections.unmodifiableSet(apiRouted));
+            });
+            this.routedBeans = Collections.unmodifiableMap(routed);
+            this.branchBeans = immutable(merged);
+        }
+
+        private static Map<Class<?>, Map<String, Object>> immutable(Map<Class<?>, Map<String, Object>> branchBeans) {
+            Map<Class<?>, Map<String, Object>> copy = new HashMap<>(branchBeans.size() * 2);
+            branchBeans.forEach((api, beans) -> copy.put(api, Collections.unmodifiableMap(beans)));
+            return Collections.unmodifiableMap(copy);
+        }
+    }
 }
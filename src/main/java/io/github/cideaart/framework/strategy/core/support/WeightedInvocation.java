@@ -0,0 +1,79 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 按权重分流的执行对象，同一routeKey对应多个分支时由注册表生成
+ * 默认每次调用随机选择，路由实现{@link io.github.cideaart.framework.strategy.core.IStrategyStickyRouter}时按其hash固定选择
+ * 选择过程不创建对象
+ *
+ * @author CIdea
+ */
+public class WeightedInvocation extends Invocation {
+
+    private final Invocation[] invocations;
+
+    /**
+     * 累计权重，与{@link #invocations}下标对应
+     */
+    private final int[] cumulativeWeights;
+
+    private final int totalWeight;
+
+    public WeightedInvocation(Invocation[] invocations, int[] weights) {
+        super(invocations[0].getMethod(), invocations[0].getBean());
+        if (invocations.length != weights.length) {
+            throw new IllegalArgumentException("invocations and weights must have the same length");
+        }
+        this.invocations = invocations.clone();
+        this.cumulativeWeights = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] <= 0) {
+                throw new IllegalArgumentException("weight must be positive");
+            }
+            total = Math.addExact(total, weights[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    @Override
+    public Object invoke(Object... args) throws Throwable {
+        return next().invoke(args);
+    }
+
+    /**
+     * 按权重随机选择分支
+     */
+    public Invocation next() {
+        return select(ThreadLocalRandom.current().nextInt(totalWeight));
+    }
+
+    /**
+     * 按hash选择分支，相同hash在权重不变时选择相同分支
+     */
+    public Invocation selectSticky(int hash) {
+        // 打散相近的hash
+        int mixed = hash * 0x9E3779B9;
+        return select(Math.floorMod(mixed ^ (mixed >>> 16), totalWeight));
+    }
+
+    private Invocation select(int point) {
+        int[] cumulativeWeights = this.cumulativeWeights;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return invocations[i];
+            }
+        }
+        return invocations[invocations.length - 1];
+    }
+
+    public Invocation[] getInvocations() {
+        return invocations.clone();
+    }
+
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+}
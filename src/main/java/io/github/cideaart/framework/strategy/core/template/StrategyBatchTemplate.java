@@ -0,0 +1,175 @@
+package io.github.cideaart.framework.strategy.core.template;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBulk;
+import io.github.cideaart.framework.strategy.core.exception.StrategyMasterNotFoundException;
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.StrategyDispatchTable;
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * 批量分派
+ * 一次遍历按routeKey把入参分组到分支，每个分支调用一次{@link StrategyBulk}方法，结果按入参顺序重组
+ * 未匹配分支的入参由主干处理
+ *
+ * <pre>
+ * List&lt;PayResult&gt; results = batchTemplate.invoke(IPayService.class, "payAll", orders, Order::getTenant);
+ * </pre>
+ *
+ * @author CIdea
+ */
+public class StrategyBatchTemplate {
+
+    private final StrategyRegistry registry;
+
+    /**
+     * 并行执行分组的执行器
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * 是否并行执行分组，调用线程执行其中一组
+     */
+    private boolean parallel = false;
+
+    public StrategyBatchTemplate(StrategyRegistry registry) {
+        Assert.notNull(registry, "registry not be null");
+        this.registry = registry;
+    }
+
+    /**
+     * @param api          路由API
+     * @param bulkMethod   API中标记{@link StrategyBulk}的方法名
+     * @param inputs       入参
+     * @param keyExtractor 入参的routeKey，返回null时由主干处理
+     * @return 与入参顺序一致的结果
+     */
+    public <T, R> List<R> invoke(Class<?> api, String bulkMethod, List<? extends T> inputs, Function<? super T, String> keyExtractor) {
+        if (inputs.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        StrategyDispatchTable table = registry.getDispatchTable(api);
+        int index = indexOfBulkMethod(table, bulkMethod);
+        // 执行对象: 入参下标，同一分支的入参归为一组
+        Map<Invocation, List<Integer>> groups = new IdentityHashMap<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            Invocation invocation = table.getBranch(keyExtractor.apply(inputs.get(i)), index);
+            if (invocation == null) {
+                invocation = getMaster(table, index);
+            }
+            groups.computeIfAbsent(invocation, k -> new ArrayList<>()).add(i);
+        }
+        Object[] results = new Object[inputs.size()];
+        if (!parallel || groups.size() == 1) {
+            for (Map.Entry<Invocation, List<Integer>> group : groups.entrySet()) {
+                invokeGroup(group.getKey(), group.getValue(), inputs, results);
+            }
+        } else {
+            invokeParallel(groups, inputs, results);
+        }
+        List<R> list = new ArrayList<>(results.length);
+        for (Object result : results) {
+            list.add((R) result);
+        }
+        return list;
+    }
+
+    private void invokeParallel(Map<Invocation, List<Integer>> groups, List<?> inputs, Object[] results) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        Iterator<Map.Entry<Invocation, List<Integer>>> iterator = groups.entrySet().iterator();
+        Map.Entry<Invocation, List<Integer>> callerGroup = iterator.next();
+        while (iterator.hasNext()) {
+            Map.Entry<Invocation, List<Integer>> group = iterator.next();
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    invokeGroup(group.getKey(), group.getValue(), inputs, results);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        try {
+            invokeGroup(callerGroup.getKey(), callerGroup.getValue(), inputs, results);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static void invokeGroup(Invocation invocation, List<Integer> indexes, List<?> inputs, Object[] results) {
+        List<Object> groupInputs = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            groupInputs.add(inputs.get(index));
+        }
+        Object groupResults;
+        try {
+            groupResults = invocation.invoke(groupInputs);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+        if (!(groupResults instanceof List) || ((List<?>) groupResults).size() != indexes.size()) {
+            throw new IllegalStateException("bulk method `" + invocation.getMethod() + "` must return a list of the same size as its input");
+        }
+        List<?> list = (List<?>) groupResults;
+        for (int i = 0; i < indexes.size(); i++) {
+            // 结果数组按下标写入，各分组下标不重叠
+            results[indexes.get(i)] = list.get(i);
+        }
+    }
+
+    private static int indexOfBulkMethod(StrategyDispatchTable table, String bulkMethod) {
+        for (int i = 0; i < table.getMethodCount(); i++) {
+            Method method = table.getMethod(i);
+            if (method.getName().equals(bulkMethod) && AnnotationUtils.findAnnotation(method, StrategyBulk.class) != null) {
+                Assert.isTrue(method.getParameterCount() == 1 && List.class.isAssignableFrom(method.getParameterTypes()[0])
+                                && List.class.isAssignableFrom(method.getReturnType()),
+                        "bulk method `" + method + "` must accept and return a List");
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("can not find @StrategyBulk method `" + bulkMethod + "` in " + table.getApi().getName());
+    }
+
+    private static Invocation getMaster(StrategyDispatchTable table, int index) {
+        if (!table.hasMaster()) {
+            throw new StrategyMasterNotFoundException("strategy `" + table.getApi().getName() + "` has not master.");
+        }
+        Invocation master = table.getMaster(index);
+        if (master == null) {
+            throw new StrategyMasterNotFoundException(table.getApi().getName() + " can access method `" + table.getMethod(index).getName() + "`.");
+        }
+        return master;
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new CompletionException(e);
+    }
+
+    public void setExecutor(Executor executor) {
+        Assert.notNull(executor, "executor not be null");
+        this.executor = executor;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+}
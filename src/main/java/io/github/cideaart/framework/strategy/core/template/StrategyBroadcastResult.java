@@ -0,0 +1,119 @@
+package io.github.cideaart.framework.strategy.core.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * 广播调用结果，按执行对象记录返回值、异常或超时
+ * 部分分支失败或超时时仍可汇总已完成的返回值
+ *
+ * @author CIdea
+ */
+public class StrategyBroadcastResult<R> {
+
+    private final List<Outcome<R>> outcomes;
+
+    StrategyBroadcastResult(List<Outcome<R>> outcomes) {
+        this.outcomes = Collections.unmodifiableList(outcomes);
+    }
+
+    /**
+     * 全部执行对象的结果，分支在前，主干在最后
+     */
+    public List<Outcome<R>> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * 正常返回的值
+     */
+    public List<R> getValues() {
+        List<R> values = new ArrayList<>(outcomes.size());
+        for (Outcome<R> outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                values.add(outcome.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 汇总正常返回的值
+     *
+     * @param reducer 汇总方式
+     */
+    public <A> A reduce(Collector<? super R, ?, A> reducer) {
+        return getValues().stream().collect(reducer);
+    }
+
+    /**
+     * 是否全部正常返回
+     */
+    public boolean isComplete() {
+        for (Outcome<R> outcome : outcomes) {
+            if (!outcome.isSuccess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个执行对象的结果
+     */
+    public static final class Outcome<R> {
+
+        private final Object bean;
+
+        private final boolean master;
+
+        private final R value;
+
+        private final Throwable error;
+
+        private final boolean timeout;
+
+        Outcome(Object bean, boolean master, R value, Throwable error, boolean timeout) {
+            this.bean = bean;
+            this.master = master;
+            this.value = value;
+            this.error = error;
+            this.timeout = timeout;
+        }
+
+        public Object getBean() {
+            return bean;
+        }
+
+        public boolean isMaster() {
+            return master;
+        }
+
+        public R getValue() {
+            return value;
+        }
+
+        /**
+         * 执行异常，正常返回或超时时为null
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isTimeout() {
+            return timeout;
+        }
+
+        public boolean isSuccess() {
+            return error == null && !timeout;
+        }
+
+        @Override
+        public String toString() {
+            String state = timeout ? "timeout" : error != null ? "error=" + error : "value=" + value;
+            return bean.getClass().getName() + "(" + state + ")";
+        }
+    }
+}
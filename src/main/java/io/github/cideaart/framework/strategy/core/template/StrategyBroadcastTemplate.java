@@ -0,0 +1,148 @@
+package io.github.cideaart.framework.strategy.core.template;
+
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.github.cideaart.framework.strategy.core.support.StrategyDispatchTable;
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import io.github.cideaart.framework.strategy.core.support.WeightedInvocation;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 广播调用
+ * 在执行器上并行调用API全部分支（可选包含主干）的同一方法，超时未返回的分支不阻塞结果，
+ * 返回值通过{@link StrategyBroadcastResult#reduce}汇总
+ *
+ * <pre>
+ * StrategyBroadcastResult&lt;Quote&gt; result = broadcastTemplate.broadcast(IPayService.class, "quote", request);
+ * Quote best = result.reduce(Collectors.minBy(Comparator.comparing(Quote::getFee))).orElse(null);
+ * </pre>
+ *
+ * @author CIdea
+ */
+public class StrategyBroadcastTemplate {
+
+    private final StrategyRegistry registry;
+
+    /**
+     * 执行分支的执行器
+     */
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * 每个分支的超时时间，从广播开始计算，为null时等待全部分支
+     * 超时的分支不会被中断，返回值丢弃
+     */
+    private Duration timeout;
+
+    /**
+     * 是否同时调用主干
+     */
+    private boolean includeMaster = false;
+
+    public StrategyBroadcastTemplate(StrategyRegistry registry) {
+        Assert.notNull(registry, "registry not be null");
+        this.registry = registry;
+    }
+
+    /**
+     * @param api    路由API
+     * @param method 方法名，存在重载时按参数数量区分
+     * @param args   参数
+     */
+    public <R> StrategyBroadcastResult<R> broadcast(Class<?> api, String method, Object... args) {
+        StrategyDispatchTable table = registry.getDispatchTable(api);
+        int index = indexOfMethod(table, method, args.length);
+        List<Invocation> invocations = new ArrayList<>();
+        // 多个routeKey可能对应同一分支，按bean去重
+        Set<Object> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Invocation[] branch : table.getBranches().values()) {
+            Invocation invocation = branch[index];
+            if (invocation instanceof WeightedInvocation) {
+                for (Invocation member : ((WeightedInvocation) invocation).getInvocations()) {
+                    if (beans.add(member.getBean())) {
+                        invocations.add(member);
+                    }
+                }
+            } else if (invocation != null && beans.add(invocation.getBean())) {
+                invocations.add(invocation);
+            }
+        }
+        int branchCount = invocations.size();
+        Invocation master = table.getMaster(index);
+        if (includeMaster && master != null && beans.add(master.getBean())) {
+            invocations.add(master);
+        }
+
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        List<CompletableFuture<R>> futures = new ArrayList<>(invocations.size());
+        for (Invocation invocation : invocations) {
+            futures.add(CompletableFuture.supplyAsync(() -> invoke(invocation, args), executor));
+        }
+        List<StrategyBroadcastResult.Outcome<R>> outcomes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            outcomes.add(await(futures.get(i), invocations.get(i).getBean(), i >= branchCount, deadline));
+        }
+        return new StrategyBroadcastResult<>(outcomes);
+    }
+
+    private <R> StrategyBroadcastResult.Outcome<R> await(CompletableFuture<R> future, Object bean, boolean master, long deadline) {
+        try {
+            R value = timeout == null ? future.get()
+                    : future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new StrategyBroadcastResult.Outcome<>(bean, master, value, null, false);
+        } catch (TimeoutException e) {
+            return new StrategyBroadcastResult.Outcome<>(bean, master, null, null, true);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            return new StrategyBroadcastResult.Outcome<>(bean, master, null, cause, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new StrategyBroadcastResult.Outcome<>(bean, master, null, e, false);
+        }
+    }
+
+    private static <R> R invoke(Invocation invocation, Object[] args) {
+        try {
+            return (R) invocation.invoke(args);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static int indexOfMethod(StrategyDispatchTable table, String name, int parameterCount) {
+        int found = -1;
+        for (int i = 0; i < table.getMethodCount(); i++) {
+            Method method = table.getMethod(i);
+            if (method.getName().equals(name) && method.getParameterCount() == parameterCount) {
+                if (found >= 0) {
+                    throw new IllegalArgumentException("ambiguous method `" + name + "` with " + parameterCount + " parameters in " + table.getApi().getName());
+                }
+                found = i;
+            }
+        }
+        if (found < 0) {
+            throw new IllegalArgumentException("can not find method `" + name + "` with " + parameterCount + " parameters in " + table.getApi().getName());
+        }
+        return found;
+    }
+
+    public void setExecutor(Executor executor) {
+        Assert.notNull(executor, "executor not be null");
+        this.executor = executor;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public void setIncludeMaster(boolean includeMaster) {
+        this.includeMaster = includeMaster;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.cideaart.framework.strategy.core;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyScan;
+import io.github.cideaart.framework.strategy.core.scanner.StrategyScannerConfigurer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.SimpleBeanDefinitionRegistry;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StrategyScan}合并到共用的扫描器
+ *
+ * @author CIdea
+ */
+class StrategyScannerRegistrarTest {
+
+    @Test
+    void mergesScansIntoSharedScanner() {
+        BeanDefinitionRegistry registry = new SimpleBeanDefinitionRegistry();
+        StrategyScannerRegistrar registrar = new StrategyScannerRegistrar();
+        registrar.registerBeanDefinitions(AnnotationMetadata.introspect(OrderScan.class), registry);
+        registrar.registerBeanDefinitions(AnnotationMetadata.introspect(DemoScan.class), registry);
+        // StrategyAPI的导入同样合并
+        StrategyAPIRegistrar.registerScanner(registry, Collections.singletonList("other.api"));
+
+        assertThat(registry.getBeanDefinitionNames()).containsExactly(StrategyAPIRegistrar.SCANNER_BEAN_NAME);
+        assertThat(registry.getBeanDefinition(StrategyAPIRegistrar.SCANNER_BEAN_NAME).getBeanClassName())
+                .isEqualTo(StrategyScannerConfigurer.class.getName());
+        assertThat(registry.getBeanDefinition(StrategyAPIRegistrar.SCANNER_BEAN_NAME)
+                .getPropertyValues().get("basePackage"))
+                .isEqualTo("demo,other.api");
+    }
+
+    @Test
+    void defaultsToPackageOfAnnotatedClass() {
+        BeanDefinitionRegistry registry = new SimpleBeanDefinitionRegistry();
+        new StrategyScannerRegistrar().registerBeanDefinitions(AnnotationMetadata.introspect(DefaultScan.class), registry);
+
+        assertThat(registry.getBeanDefinition(StrategyAPIRegistrar.SCANNER_BEAN_NAME)
+                .getPropertyValues().get("basePackage"))
+                .isEqualTo(StrategyScannerRegistrarTest.class.getPackage().getName());
+    }
+
+    @StrategyScan({"demo.order", "demo.order.api"})
+    static class OrderScan {
+    }
+
+    @StrategyScan(basePackages = "demo")
+    static class DemoScan {
+    }
+
+    @StrategyScan
+    static class DefaultScan {
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.cideaart.framework.strategy.core.factory;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+import io.github.cideaart.framework.strategy.core.proxy.StrategyProxy;
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 延迟模式：首次调用前不编译分派表，未被依赖的API不创建代理
+ * 使用独立的容器，扫描本测试的内部类
+ *
+ * @author CIdea
+ */
+class StrategyLazyModeTest {
+
+    @Test
+    void defersTablesAndUnusedProxiesToFirstCall() {
+        List<Class<?>> proxiedApis = Collections.synchronizedList(new ArrayList<>());
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(
+                    new MapPropertySource("lazy", Collections.singletonMap("cidea.strategy.lazy", "true")));
+            context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof StrategyProxy) {
+                        proxiedApis.add((Class<?>) ReflectionTestUtils.getField(bean, "api"));
+                    }
+                    return bean;
+                }
+            }));
+            context.register(StrategyRegistry.class, StrategyProxy.class,
+                    UsedMaster.class, UsedBranch.class, UnusedMaster.class, ClassApi.class, Consumer.class);
+            context.refresh();
+
+            StrategyRegistry registry = context.getBean(StrategyRegistry.class);
+            Consumer consumer = context.getBean(Consumer.class);
+            // 被依赖的接口API只创建JDK动态代理
+            assertThat(Proxy.isProxyClass(consumer.api.getClass())).isTrue();
+            assertThat(proxiedApis).containsExactly(IUsedApi.class);
+            assertThat(dispatchTables(registry)).isEmpty();
+
+            assertThat(consumer.api.call("b")).isEqualTo("branch");
+            assertThat(consumer.api.call("x")).isEqualTo("master");
+
+            // 注册主干、分支时不创建未使用的类API代理
+            assertThat(proxiedApis).containsExactly(IUsedApi.class);
+            assertThat(dispatchTables(registry)).containsOnlyKeys(IUsedApi.class);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Class<?>, ?> dispatchTables(StrategyRegistry registry) {
+        Object snapshot = ReflectionTestUtils.getField(registry, "snapshot");
+        return (Map<Class<?>, ?>) ReflectionTestUtils.getField(snapshot, "dispatchTables");
+    }
+
+    @StrategyAPI(routeKey = "[0]")
+    public interface IUsedApi {
+        String call(String key);
+    }
+
+    @StrategyAPI(routeKey = "[0]")
+    public interface IUnusedApi {
+        String call(String key);
+    }
+
+    @StrategyMaster
+    public static class UsedMaster implements IUsedApi {
+        @Override
+        public String call(String key) {
+            return "master";
+        }
+    }
+
+    @StrategyBranch("b")
+    public static class UsedBranch implements IUsedApi {
+        @Override
+        public String call(String key) {
+            return "branch";
+        }
+    }
+
+    @StrategyMaster
+    public static class UnusedMaster implements IUnusedApi {
+        @Override
+        public String call(String key) {
+            return "master";
+        }
+    }
+
+    /**
+     * 类API，没有被依赖
+     */
+    @StrategyMaster
+    public static class ClassApi {
+        public String call(String key) {
+            return "class";
+        }
+    }
+
+    public static class Consumer {
+        @Autowired
+        private IUsedApi api;
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.cideaart.framework.strategy.core.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 编译期生成{@link StrategyIndex}及增量编译合并
+ *
+ * @author CIdea
+ */
+class StrategyIndexProcessorTest {
+
+    private static final String ANNOTATION = "io.github.cideaart.framework.strategy.core.annotation.";
+
+    @Test
+    void writesScanCandidates(@TempDir Path output) throws IOException {
+        TestCompiler.compile(output, sources(), new StrategyIndexProcessor());
+
+        assertThat(candidates(output)).containsExactly(
+                "demo.api.IOrg", "demo.api.IOrg$IInner", "demo.cls.PayMaster");
+    }
+
+    @Test
+    void mergesWithExistingIndexOnIncrementalBuild(@TempDir Path output) throws IOException {
+        TestCompiler.compile(output, sources(), new StrategyIndexProcessor());
+
+        // 只重新编译变更的类：IOrg去掉注解，新增IPay
+        Map<String, String> changed = new LinkedHashMap<>();
+        changed.put("demo.api.IOrg", "package demo.api; public interface IOrg { String name();"
+                + " @" + ANNOTATION + "StrategyAPI interface IInner { } }");
+        changed.put("demo.api.IPay", "package demo.api; @" + ANNOTATION + "StrategyAPI public interface IPay { }");
+        TestCompiler.compile(output, changed, new StrategyIndexProcessor());
+
+        // 重新编译的类以新结果为准，未重新编译的PayMaster保留
+        assertThat(candidates(output)).containsExactly("demo.api.IOrg$IInner", "demo.api.IPay", "demo.cls.PayMaster");
+    }
+
+    private Map<String, String> sources() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("demo.api.IOrg", "package demo.api; @" + ANNOTATION + "StrategyAPI public interface IOrg {"
+                + " String name();"
+                + " @" + ANNOTATION + "StrategyAPI interface IInner { } }");
+        // 上级有StrategyAPI的主干不是扫描候选
+        sources.put("demo.api.OrgMaster", "package demo.api; @" + ANNOTATION + "StrategyMaster"
+                + " public class OrgMaster implements IOrg { public String name() { return \"master\"; } }");
+        sources.put("demo.cls.PayMaster", "package demo.cls; @" + ANNOTATION + "StrategyMaster public class PayMaster { }");
+        sources.put("demo.cls.Plain", "package demo.cls; public class Plain { }");
+        return sources;
+    }
+
+    private List<String> candidates(Path output) throws IOException {
+        Path index = output.resolve(StrategyIndex.INDEX_LOCATION);
+        assertThat(index).exists();
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        assertThat(lines.get(0)).startsWith("#");
+        return lines.stream().skip(1)
+                .map(line -> Arrays.asList(line.split(" ")))
+                .peek(parts -> assertThat(parts.get(0)).isEqualTo(StrategyIndex.CANDIDATE))
+                .map(parts -> parts.get(1))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.cideaart.framework.strategy.core.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StrategyIndex}的读写和生效范围
+ *
+ * @author CIdea
+ */
+class StrategyIndexTest {
+
+    @Test
+    void readsCandidatesAndIgnoresLegacyEntries() throws IOException {
+        StrategyIndex index = new StrategyIndex();
+        index.read(new ByteArrayInputStream(("# legacy\n"
+                + "api demo.api.IOrg\n"
+                + "candidate demo.api.IOrg\n"
+                + "branch demo.api.BranchA a,aa\n"
+                + "candidate demo.cls.OrgCls\n"
+                + "candidate other.IOther\n").getBytes(StandardCharsets.UTF_8)));
+        assertThat(index.getCandidates("demo")).containsExactly("demo.api.IOrg", "demo.cls.OrgCls");
+        assertThat(index.getCandidates("demo.api")).containsExactly("demo.api.IOrg");
+
+        index.remove("demo.api.IOrg");
+        index.add("demo.api.IPay");
+        assertThat(index.write()).endsWith("candidate demo.api.IPay\ncandidate demo.cls.OrgCls\ncandidate other.IOther\n");
+    }
+
+    @Test
+    void trustsIndexOnlyForProvidingRoot(@TempDir Path temp) throws IOException {
+        Path indexed = Files.createDirectories(temp.resolve("indexed"));
+        Path plain = Files.createDirectories(temp.resolve("plain"));
+        Files.createDirectories(indexed.resolve("META-INF"));
+        Files.write(indexed.resolve(StrategyIndex.INDEX_LOCATION), "candidate demo.api.IOrg\n".getBytes(StandardCharsets.UTF_8));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{indexed.toUri().toURL(), plain.toUri().toURL()}, null)) {
+            StrategyIndex index = StrategyIndex.load(classLoader);
+            assertThat(index).isNotNull();
+            assertThat(index.getCandidates("demo")).containsExactly("demo.api.IOrg");
+            assertThat(index.isIndexed(indexed.resolve("demo/api/IOrg.class").toUri().toURL())).isTrue();
+            assertThat(index.isIndexed(plain.resolve("demo/ext/IExt.class").toUri().toURL())).isFalse();
+        }
+    }
+}
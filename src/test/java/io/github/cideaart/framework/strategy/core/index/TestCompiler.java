@@ -0,0 +1,68 @@
+package io.github.cideaart.framework.strategy.core.index;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试中编译源码，classpath为当前测试的classpath
+ *
+ * @author CIdea
+ */
+public final class TestCompiler {
+
+    private TestCompiler() {
+    }
+
+    /**
+     * @param output    class输出目录，同时加入classpath（模拟增量编译）
+     * @param sources   类名: 源码
+     * @param processor 为null时不执行注解处理
+     */
+    public static void compile(Path output, Map<String, String> sources, Processor processor) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("java compiler unavailable, tests require a JDK");
+        }
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((className, source) -> units.add(new Source(className, source)));
+        List<String> options = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-classpath", output + File.pathSeparator + System.getProperty("java.class.path")));
+        if (processor == null) {
+            options.add("-proc:none");
+        }
+        StringWriter out = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(out, null, null, options, null, units);
+        if (processor != null) {
+            task.setProcessors(Arrays.asList(processor));
+        }
+        if (!task.call()) {
+            throw new IllegalStateException("compilation failed: " + out);
+        }
+    }
+
+    private static class Source extends SimpleJavaFileObject {
+
+        private final String source;
+
+        Source(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
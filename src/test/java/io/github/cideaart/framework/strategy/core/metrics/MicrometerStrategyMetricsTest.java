@@ -0,0 +1,45 @@
+package io.github.cideaart.framework.strategy.core.metrics;
+
+import io.github.cideaart.framework.strategy.core.support.Invocation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link MicrometerStrategyMetrics}按执行结果记录耗时
+ *
+ * @author CIdea
+ */
+class MicrometerStrategyMetricsTest {
+
+    @Test
+    void recordsSuccessAndErrorSeparately() throws Throwable {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        MicrometerStrategyMetrics metrics = new MicrometerStrategyMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+        Method method = Calculator.class.getMethod("divide", int.class, int.class);
+        Invocation invocation = metrics.decorate(Calculator.class, method, new Calculator(), false, new Invocation(method, new Calculator()));
+
+        assertThat(invocation.invoke(4, 2)).isEqualTo(2);
+        assertThatThrownBy(() -> invocation.invoke(4, 0)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> invocation.invoke(4, 0)).isInstanceOf(ArithmeticException.class);
+
+        assertThat(meterRegistry.get(MicrometerStrategyMetrics.INVOCATION).tag("status", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MicrometerStrategyMetrics.INVOCATION).tag("status", "error").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(MicrometerStrategyMetrics.INVOCATION).tag("status", "error").timer().getId().getTag("outcome")).isEqualTo("branch");
+    }
+
+    public static class Calculator {
+
+        public int divide(int a, int b) {
+            return a / b;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.IPayService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cglib.proxy.Factory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 分派路径的内存分配预算，稳定状态下分支命中、主干兜底的{@link StrategyProxy#intercept}不允许分配内存
+ * 通过当前线程已分配字节数测量
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyAllocationTest {
+
+    private static final int WARMUP_CALLS = 200_000;
+
+    private static final int MEASURED_CALLS = 100_000;
+
+    /**
+     * 允许的总分配字节数，容纳测量本身的误差
+     */
+    private static final long BUDGET_BYTES = 1024;
+
+    @Autowired
+    private IPayService payService;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    private StrategyProxy proxy;
+
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        proxy = (StrategyProxy) ((Factory) payService).getCallback(0);
+        method = IPayService.class.getMethod("pay", String.class, int.class);
+    }
+
+    @Test
+    void branchHitDoesNotAllocate() throws Throwable {
+        // 参数数组由CGLIB生成的代理方法创建，不计入分派路径
+        Object[] args = {TestApplication.BRANCH_KEY, 1};
+        assertThat(proxy.intercept(payService, method, args, null)).isEqualTo(2);
+        assertThat(measure(args)).isLessThanOrEqualTo(BUDGET_BYTES);
+    }
+
+    @Test
+    void masterFallThroughDoesNotAllocate() throws Throwable {
+        Object[] args = {TestApplication.UNKNOWN_KEY, 1};
+        assertThat(proxy.intercept(payService, method, args, null)).isEqualTo(1);
+        assertThat(measure(args)).isLessThanOrEqualTo(BUDGET_BYTES);
+    }
+
+    private long measure(Object[] args) throws Throwable {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            proxy.intercept(payService, method, args, null);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            proxy.intercept(payService, method, args, null);
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.BlockingTaskService;
+import io.github.cideaart.framework.strategy.fixture.ITaskService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import io.github.cideaart.framework.strategy.fixture.ThreadRecordingRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link io.github.cideaart.framework.strategy.core.annotation.StrategyAsync}：路由在调用线程，分支在执行器中执行
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyAsyncTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private ThreadRecordingRouter router;
+
+    @Autowired
+    private BlockingTaskService blockingTaskService;
+
+    @Test
+    void routesOnCallerAndInvokesBranchOnExecutor() throws Exception {
+        Thread caller = Thread.currentThread();
+        blockingTaskService.reset();
+        CompletableFuture<String> future;
+        try {
+            future = taskService.run("blocking");
+            assertThat(router.getLastThread()).isSameAs(caller);
+            // 分支阻塞时调用方已拿到future
+            assertThat(future).isNotDone();
+        } finally {
+            blockingTaskService.release();
+        }
+        assertThat(future.get(10, TimeUnit.SECONDS)).isNotEqualTo(caller.getName());
+
+        // 主干同样在执行器中执行
+        assertThat(taskService.run(TestApplication.UNKNOWN_KEY).get(10, TimeUnit.SECONDS)).isNotEqualTo(caller.getName());
+    }
+
+    @Test
+    void limitTimeoutsRunOutsideAsyncExecutor() throws Exception {
+        String async = taskService.run(TestApplication.UNKNOWN_KEY).get(10, TimeUnit.SECONDS);
+        String limited = taskService.runSync("timed");
+        // 限流超时调用使用独立的执行器，不占用异步分派的线程
+        assertThat(limited).isNotEqualTo(Thread.currentThread().getName()).doesNotStartWith("strategy-async-");
+        // 异步方法的限流在外层，分支仍在异步执行器中执行
+        assertThat(taskService.run("timed").get(10, TimeUnit.SECONDS)).doesNotStartWith("strategy-limit-");
+        if (!async.isEmpty()) {
+            // 平台线程池，虚拟线程没有名称
+            assertThat(async).startsWith("strategy-async-");
+            assertThat(limited).startsWith("strategy-limit-");
+        }
+    }
+
+    @Test
+    void synchronousMethodsStayOnCaller() {
+        assertThat(taskService.runSync("blocking")).isEqualTo(Thread.currentThread().getName());
+        assertThat(router.getLastThread()).isSameAs(Thread.currentThread());
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.IStatusService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数字路由按code下标分派
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyCodeRouteTest {
+
+    @Autowired
+    private IStatusService statusService;
+
+    @Test
+    void routesByDenseCode() {
+        assertThat(statusService.describe(200)).isEqualTo("success");
+        assertThat(statusService.describe(204)).isEqualTo("success");
+        assertThat(statusService.describe(404)).isEqualTo("not found");
+    }
+
+    @Test
+    void unregisteredCodesGoToMaster() {
+        assertThat(statusService.describe(201)).isEqualTo("other");
+        assertThat(statusService.describe(0)).isEqualTo("other");
+        assertThat(statusService.describe(-1)).isEqualTo("other");
+        assertThat(statusService.describe(405)).isEqualTo("other");
+        assertThat(statusService.describe(Integer.MAX_VALUE)).isEqualTo("other");
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.IInvoiceService;
+import io.github.cideaart.framework.strategy.fixture.Invoice;
+import io.github.cideaart.framework.strategy.fixture.Level;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 声明式路由，API未指定路由且容器中存在多个路由
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyDeclarativeRouteTest {
+
+    @Autowired
+    private IInvoiceService invoiceService;
+
+    @Test
+    void routesByApiExpression() {
+        // 多次调用，覆盖表达式编译前后
+        for (int i = 0; i < 3; i++) {
+            assertThat(invoiceService.issue(new Invoice("acme"))).isEqualTo("acme");
+            assertThat(invoiceService.issue(new Invoice("other"))).isEqualTo("master");
+            assertThat(invoiceService.issue(new Invoice(null))).isEqualTo("master");
+        }
+    }
+
+    @Test
+    void annotatedParameterOverridesApiExpression() {
+        assertThat(invoiceService.cancel("inv-1", "acme")).isEqualTo("acme");
+        assertThat(invoiceService.cancel("acme", "other")).isEqualTo("master");
+        assertThat(invoiceService.cancel("inv-1", null)).isEqualTo("master");
+        assertThat(invoiceService.level(Level.HIGH)).isEqualTo("acme");
+        assertThat(invoiceService.level(Level.LOW)).isEqualTo("master");
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.ILevelService;
+import io.github.cideaart.framework.strategy.fixture.IRegionService;
+import io.github.cideaart.framework.strategy.fixture.Level;
+import io.github.cideaart.framework.strategy.fixture.Priority;
+import io.github.cideaart.framework.strategy.fixture.Region;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 枚举路由按ordinal分派，按层级routeKey匹配
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyEnumRouteTest {
+
+    @Autowired
+    private IRegionService regionService;
+
+    @Autowired
+    private ILevelService levelService;
+
+    @Test
+    void enumRouteKeysMatchLongestPrefix() {
+        assertThat(regionService.name(Region.CN)).isEqualTo("CN");
+        assertThat(regionService.name(Region.CN_SH)).isEqualTo("CN_SH");
+        assertThat(regionService.name(Region.CN_SH_PUDONG)).isEqualTo("CN_SH");
+        assertThat(regionService.name(Region.CN_BJ)).isEqualTo("CN");
+        assertThat(regionService.name(Region.US)).isEqualTo("master");
+        assertThat(regionService.name(null)).isEqualTo("master");
+    }
+
+    @Test
+    void routesByOrdinal() {
+        assertThat(levelService.level(Level.HIGH)).isEqualTo("high");
+        assertThat(levelService.level(Level.LOW)).isEqualTo("default");
+    }
+
+    @Test
+    void otherEnumTypesMatchByName() {
+        // Priority.HIGH的ordinal超出Level的分派表，按名称匹配
+        assertThat(levelService.level(Priority.HIGH)).isEqualTo("high");
+        assertThat(levelService.level(Priority.MEDIUM)).isEqualTo("default");
+        assertThat(levelService.level(Region.CN)).isEqualTo("default");
+    }
+}
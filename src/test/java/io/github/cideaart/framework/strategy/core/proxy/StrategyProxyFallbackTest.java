@@ -0,0 +1,74 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.BrokenAsyncQuoteService;
+import io.github.cideaart.framework.strategy.fixture.BrokenQuoteService;
+import io.github.cideaart.framework.strategy.fixture.IAsyncQuoteService;
+import io.github.cideaart.framework.strategy.fixture.IQuoteService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 分支失败降级和熔断
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyFallbackTest {
+
+    @Autowired
+    private IQuoteService quoteService;
+
+    @Autowired
+    private BrokenQuoteService brokenQuoteService;
+
+    @Autowired
+    private IAsyncQuoteService asyncQuoteService;
+
+    @Autowired
+    private BrokenAsyncQuoteService brokenAsyncQuoteService;
+
+    @Test
+    void failingBranchFallsBackToMasterAndOpensCircuit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> quoteService.quote("broken")));
+            }
+            for (Future<String> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("master");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 熔断后不再调用分支，并发下打开前可能多放行几次
+        int calls = brokenQuoteService.getCalls();
+        assertThat(calls).isBetween(4, 20);
+        assertThat(quoteService.quote("broken")).isEqualTo("master");
+        assertThat(brokenQuoteService.getCalls()).isEqualTo(calls);
+    }
+
+    @Test
+    void asyncFailuresOpenCircuit() {
+        // 已返回的失败结果不降级，但计入熔断
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> future = asyncQuoteService.quote("broken");
+            assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(asyncQuoteService.quote("broken").join()).isEqualTo("master");
+        assertThat(brokenAsyncQuoteService.getCalls()).isEqualTo(4);
+    }
+}
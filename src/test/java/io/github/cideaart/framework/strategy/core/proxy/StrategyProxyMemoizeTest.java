@@ -0,0 +1,40 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.core.exception.StrategyRejectedException;
+import io.github.cideaart.framework.strategy.fixture.CachedFeeService;
+import io.github.cideaart.framework.strategy.fixture.IFeeService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link io.github.cideaart.framework.strategy.core.annotation.StrategyMemoize}与routeKey限流：命中缓存不占用限制
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxyMemoizeTest {
+
+    @Autowired
+    private IFeeService feeService;
+
+    @Autowired
+    private CachedFeeService cachedFeeService;
+
+    @Test
+    void cacheHitOnLimitedRouteKeyConsumesNoPermit() {
+        // `limited-fee`令牌桶只有一个令牌
+        assertThat(feeService.fee("limited-fee", "a")).isEqualTo("branch:a");
+        assertThat(feeService.fee("limited-fee", "a")).isEqualTo("branch:a");
+        assertThat(feeService.fee("limited-fee", "a")).isEqualTo("branch:a");
+        assertThat(cachedFeeService.getCalls()).isEqualTo(1);
+
+        // 未命中缓存时才需要令牌
+        assertThatThrownBy(() -> feeService.fee("limited-fee", "b")).isInstanceOf(StrategyRejectedException.class);
+        assertThat(cachedFeeService.getCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.cideaart.framework.strategy.core.proxy;
+
+import io.github.cideaart.framework.strategy.fixture.IGreetingService;
+import io.github.cideaart.framework.strategy.fixture.LanguageRouter;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 单routeKey路由只调用{@link io.github.cideaart.framework.strategy.core.IStrategySingleKeyRouter#getRouteKey}
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyProxySingleKeyRouteTest {
+
+    @Autowired
+    private IGreetingService greetingService;
+
+    @Autowired
+    private LanguageRouter languageRouter;
+
+    @Test
+    void routesBySingleKeyWithoutRouteKeyArray() {
+        int calls = languageRouter.getCalls();
+        assertThat(greetingService.greet("fr")).isEqualTo("bonjour");
+        assertThat(greetingService.greet("de")).isEqualTo("hello");
+        assertThat(greetingService.greet(null)).isEqualTo("hello");
+        // 每次调用只路由一次，getRouteKeys未被调用
+        assertThat(languageRouter.getCalls()).isEqualTo(calls + 3);
+    }
+
+    @Test
+    void objectMethodsAreNotRouted() {
+        int calls = languageRouter.getCalls();
+        assertThat(greetingService.toString()).isNotNull();
+        assertThat(greetingService.hashCode()).isEqualTo(greetingService.hashCode());
+        assertThat(languageRouter.getCalls()).isEqualTo(calls);
+    }
+}
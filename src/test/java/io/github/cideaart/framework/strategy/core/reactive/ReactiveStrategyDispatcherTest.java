@@ -0,0 +1,79 @@
+package io.github.cideaart.framework.strategy.core.reactive;
+
+import io.github.cideaart.framework.strategy.fixture.BrokenReactiveQuoteService;
+import io.github.cideaart.framework.strategy.fixture.IReactiveQuoteService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 按订阅者Context路由，含权重分流、粘性选择和降级
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class ReactiveStrategyDispatcherTest {
+
+    @Autowired
+    private IReactiveQuoteService quoteService;
+
+    @Autowired
+    private BrokenReactiveQuoteService brokenService;
+
+    @Test
+    void routesBySubscriberContext() {
+        // 同一个Mono按不同订阅者的Context路由
+        Mono<String> quote = quoteService.quote("item").publishOn(Schedulers.parallel());
+        assertThat(quote.contextWrite(Context.of("tenant", "acme")).block()).isEqualTo("acme");
+        assertThat(quote.contextWrite(Context.of("tenant", "other")).block()).isEqualTo("master");
+        assertThat(quote.block()).isEqualTo("master");
+
+        assertThat(quoteService.quotes("item").contextWrite(Context.of("tenant", "acme")).collectList().block())
+                .containsExactly("acme-1", "acme-2");
+    }
+
+    @Test
+    void selectsWeightedBranchesStickyByContext() {
+        Set<String> unsticky = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            unsticky.add(quoteService.quote("item").contextWrite(Context.of("tenant", "split")).block());
+        }
+        assertThat(unsticky).containsExactlyInAnyOrder("split-a", "split-b");
+
+        Set<String> users = new HashSet<>();
+        for (int user = 0; user < 50; user++) {
+            Mono<String> quote = quoteService.quote("item").contextWrite(Context.of("tenant", "split", "user", user));
+            String first = quote.block();
+            for (int i = 0; i < 5; i++) {
+                assertThat(quote.block()).isEqualTo(first);
+            }
+            users.add(first);
+        }
+        assertThat(users).containsExactlyInAnyOrder("split-a", "split-b");
+    }
+
+    @Test
+    void fallsBackBeforeFirstElementAndOpensCircuit() {
+        // 发出元素后的失败不降级，首个元素计为成功
+        assertThatThrownBy(() -> quoteService.quotes("item").contextWrite(Context.of("tenant", "broken,acme")).collectList().block())
+                .isInstanceOf(IllegalStateException.class).hasMessage("down");
+
+        int before = brokenService.getSubscriptions();
+        for (int i = 0; i < 4; i++) {
+            assertThat(quoteService.quote("item").contextWrite(Context.of("tenant", "broken,acme")).block()).isEqualTo("acme");
+            assertThat(quoteService.quote("item").contextWrite(Context.of("tenant", "broken")).block()).isEqualTo("master");
+        }
+        // 窗口内1次成功、3次失败后熔断，不再订阅失败的分支
+        assertThat(brokenService.getSubscriptions() - before).isEqualTo(3);
+    }
+}
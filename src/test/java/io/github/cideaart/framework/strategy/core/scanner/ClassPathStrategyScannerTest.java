@@ -0,0 +1,72 @@
+package io.github.cideaart.framework.strategy.core.scanner;
+
+import io.github.cideaart.framework.strategy.core.index.StrategyIndex;
+import io.github.cideaart.framework.strategy.core.index.TestCompiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ClassPathStrategyScanner}读取索引与扫描未提供索引的根目录
+ *
+ * @author CIdea
+ */
+class ClassPathStrategyScannerTest {
+
+    private static final String API = "@io.github.cideaart.framework.strategy.core.annotation.StrategyAPI";
+
+    @Test
+    void readsIndexedRootsAndScansOthers(@TempDir Path temp) throws IOException {
+        Path indexed = Files.createDirectories(temp.resolve("indexed"));
+        Path plain = Files.createDirectories(temp.resolve("plain"));
+        Map<String, String> indexedSources = new LinkedHashMap<>();
+        indexedSources.put("demo.api.IOrg", "package demo.api; " + API + " public interface IOrg { }");
+        // 不在索引中：若仍遍历提供索引的根目录就会被扫描到
+        indexedSources.put("demo.api.IHidden", "package demo.api; " + API + " public interface IHidden { }");
+        TestCompiler.compile(indexed, indexedSources, null);
+        Files.createDirectories(indexed.resolve("META-INF"));
+        Files.write(indexed.resolve(StrategyIndex.INDEX_LOCATION), "candidate demo.api.IOrg\n".getBytes(StandardCharsets.UTF_8));
+        TestCompiler.compile(plain, Collections.singletonMap("demo.ext.IExt",
+                "package demo.ext; " + API + " public interface IExt { }"), null);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{indexed.toUri().toURL(), plain.toUri().toURL()},
+                getClass().getClassLoader())) {
+            ClassPathStrategyScanner scanner = new ClassPathStrategyScanner(new DefaultListableBeanFactory(),
+                    new StrategyScannerConfigurer());
+            List<String> patterns = new ArrayList<>();
+            scanner.setResourceLoader(new PathMatchingResourcePatternResolver(classLoader) {
+                @Override
+                public Resource[] getResources(String locationPattern) throws IOException {
+                    patterns.add(locationPattern);
+                    return super.getResources(locationPattern);
+                }
+            });
+
+            assertThat(scanner.findCandidateComponents("demo").stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .collect(Collectors.toList()))
+                    .containsExactlyInAnyOrder("demo.api.IOrg", "demo.ext.IExt");
+            // 只遍历未提供索引的根目录
+            assertThat(patterns).filteredOn(pattern -> pattern.endsWith(".class"))
+                    .containsExactly(plain.resolve("demo").toUri().toURL() + "**/*.class");
+        }
+    }
+}
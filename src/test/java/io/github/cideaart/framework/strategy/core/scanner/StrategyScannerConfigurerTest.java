@@ -0,0 +1,31 @@
+package io.github.cideaart.framework.strategy.core.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StrategyScannerConfigurer#reducePackages}
+ *
+ * @author CIdea
+ */
+class StrategyScannerConfigurerTest {
+
+    @Test
+    void removesDuplicatesAndSubPackages() {
+        assertThat(StrategyScannerConfigurer.reducePackages(Arrays.asList(
+                "demo.order.api", "demo.pay", "demo.order", "demo.pay", "demo.pay.channel", "other")))
+                .containsExactly("demo.pay", "demo.order", "other");
+    }
+
+    @Test
+    void keepsSiblingsSharingAPrefix() {
+        // demo.orders不是demo.order的子包
+        assertThat(StrategyScannerConfigurer.reducePackages(Arrays.asList("demo.orders", "demo.order")))
+                .containsExactly("demo.orders", "demo.order");
+        assertThat(StrategyScannerConfigurer.reducePackages(Collections.emptyList())).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link AsyncInvocation}
+ *
+ * @author CIdea
+ */
+class AsyncInvocationTest {
+
+    @Test
+    void invokesOnExecutorAndReturnsImmediately() throws Exception {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncInvocation invocation = new AsyncInvocation(TestSupport.invocation("bean", () -> {
+                release.get(10, TimeUnit.SECONDS);
+                return Thread.currentThread().getName();
+            }), executor);
+            CompletableFuture<?> future = (CompletableFuture<?>) invocation.invoke();
+            assertThat(future).isNotDone();
+            release.complete(null);
+            assertThat(future.get(10, TimeUnit.SECONDS)).isNotEqualTo(Thread.currentThread().getName());
+            assertThat(invocation.getBean()).isEqualTo("bean");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completesWithReturnedFutures() throws Exception {
+        CompletableFuture<Object> stage = new CompletableFuture<>();
+        CompletableFuture<?> future = invokeDirect(() -> stage);
+        assertThat(future).isNotDone();
+        stage.complete("stage");
+        assertThat(future.get()).isEqualTo("stage");
+
+        // 非CompletionStage的future在执行器线程等待
+        FutureTask<Object> task = new FutureTask<>(() -> "task");
+        task.run();
+        assertThat(invokeDirect(() -> (Future<?>) task).get()).isEqualTo("task");
+    }
+
+    @Test
+    void completesExceptionally() {
+        IllegalStateException failure = new IllegalStateException("branch");
+        assertThatThrownBy(invokeDirect(() -> {
+            throw failure;
+        })::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+
+        CompletableFuture<Object> stage = new CompletableFuture<>();
+        CompletableFuture<?> future = invokeDirect(() -> stage);
+        stage.completeExceptionally(failure);
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+    }
+
+    @Test
+    void rejectionCompletesExceptionally() {
+        RejectedExecutionException rejected = new RejectedExecutionException("full");
+        CompletableFuture<?> future = (CompletableFuture<?>) new AsyncInvocation(TestSupport.invocation("bean"), command -> {
+            throw rejected;
+        }).invoke();
+        assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class).hasCause(rejected);
+    }
+
+    @Test
+    void acceptsFutureReturnTypes() {
+        assertThat(AsyncInvocation.isAsyncReturnType(CompletableFuture.class)).isTrue();
+        assertThat(AsyncInvocation.isAsyncReturnType(CompletionStage.class)).isTrue();
+        assertThat(AsyncInvocation.isAsyncReturnType(Future.class)).isTrue();
+        assertThat(AsyncInvocation.isAsyncReturnType(Object.class)).isFalse();
+        assertThat(AsyncInvocation.isAsyncReturnType(String.class)).isFalse();
+        assertThat(AsyncInvocation.isAsyncReturnType(List.class)).isFalse();
+    }
+
+    /**
+     * 在调用线程执行，便于检查结果的传递
+     */
+    private static CompletableFuture<?> invokeDirect(Callable<Object> body) {
+        return (CompletableFuture<?>) new AsyncInvocation(TestSupport.invocation("bean", body), Runnable::run).invoke();
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link LambdaInvocation}的参数转换和回退
+ *
+ * @author CIdea
+ */
+class LambdaInvocationTest {
+
+    @Test
+    void invokesWithBoxedArgumentsAndVoidReturn() throws Throwable {
+        Target target = new Target();
+        assertThat(create("add", int.class, long.class).invoke(1, 2L)).isEqualTo(3L);
+        assertThat(create("name").invoke()).isEqualTo("target");
+        assertThat(InvocationFactory.LAMBDA.create(Target.class.getMethod("record", String.class), target).invoke("a")).isNull();
+        assertThat(target.recorded).isEqualTo("a");
+    }
+
+    @Test
+    void rethrowsCheckedException() {
+        assertThatThrownBy(() -> create("fail").invoke()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void fallsBackForUnsupportedMethod() throws Throwable {
+        Method method = Hidden.class.getMethod("name");
+        assertThat(LambdaInvocation.isSupported(method)).isFalse();
+        Invocation invocation = InvocationFactory.LAMBDA.create(method, new Hidden());
+        assertThat(invocation).isNotInstanceOf(LambdaInvocation.class);
+        assertThat(invocation.invoke()).isEqualTo("hidden");
+        Method wide = Target.class.getMethod("wide", int.class, int.class, int.class, int.class);
+        assertThat(InvocationFactory.LAMBDA.create(wide, new Target()).invoke(1, 2, 3, 4)).isEqualTo(10);
+    }
+
+    private static Invocation create(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Invocation invocation = InvocationFactory.LAMBDA.create(Target.class.getMethod(name, parameterTypes), new Target());
+        assertThat(invocation).isInstanceOf(LambdaInvocation.class);
+        return invocation;
+    }
+
+    public static class Target {
+
+        private String recorded;
+
+        public long add(int a, long b) {
+            return a + b;
+        }
+
+        public String name() {
+            return "target";
+        }
+
+        public void record(String value) {
+            recorded = value;
+        }
+
+        public String fail() throws IOException {
+            throw new IOException("fail");
+        }
+
+        public int wide(int a, int b, int c, int d) {
+            return a + b + c + d;
+        }
+    }
+
+    static class Hidden {
+
+        public String name() {
+            return "hidden";
+        }
+    }
+}
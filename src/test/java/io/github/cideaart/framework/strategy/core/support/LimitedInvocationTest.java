@@ -0,0 +1,56 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.exception.StrategyRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link LimitedInvocation}的超时调用
+ *
+ * @author CIdea
+ */
+class LimitedInvocationTest {
+
+    @Test
+    void timedOutBranchKeepsThreadUntilItReturns() throws Throwable {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        ExecutorService executor = StrategyExecutors.boundedThreadPool("strategy-limit-", 1, 0);
+        try {
+            StrategyLimiter limiter = new StrategyLimiter(2, 0, 1, 50, false);
+            // 分支忽略中断，超时后仍在执行
+            LimitedInvocation invocation = new LimitedInvocation(TestSupport.invocation("bean", () -> {
+                while (true) {
+                    try {
+                        return release.get(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            }), limiter, null, executor);
+            assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class).hasMessageEndingWith("timeout");
+            // 执行器线程仍被占用，不排队，直接按超出限制处理
+            assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class).hasMessageEndingWith("executor rejected");
+
+            // 分支返回后归还许可和线程
+            release.complete(null);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            Object result = invocation;
+            while (result == invocation && System.nanoTime() < deadline) {
+                try {
+                    result = invocation.invoke();
+                } catch (StrategyRejectedException e) {
+                    Thread.sleep(10);
+                }
+            }
+            assertThat(result).isNull();
+            assertThat(limiter.getConcurrentCalls()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
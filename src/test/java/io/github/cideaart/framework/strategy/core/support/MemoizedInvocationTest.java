@@ -0,0 +1,88 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MemoizedInvocation}的结果缓存
+ *
+ * @author CIdea
+ */
+class MemoizedInvocationTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Invocation counting = invocation("branch", calls::incrementAndGet);
+
+    @Test
+    void cachesByArguments() throws Throwable {
+        CacheStats stats = new CacheStats();
+        MemoizedInvocation memoized = new MemoizedInvocation(counting, new BoundedCache<>(16, stats), 0);
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        assertThat(memoized.invoke("b")).isEqualTo(2);
+        assertThat(memoized.invoke()).isEqualTo(3);
+        assertThat(memoized.invoke((Object) null)).isEqualTo(3);
+        // 数组及多个参数按内容比较
+        assertThat(memoized.invoke(new int[]{1, 2}, "a")).isEqualTo(4);
+        assertThat(memoized.invoke(new int[]{1, 2}, "a")).isEqualTo(4);
+        assertThat(stats.getHitCount()).isEqualTo(3);
+        assertThat(stats.getMissCount()).isEqualTo(4);
+    }
+
+    @Test
+    void expiresAfterTtl() throws Throwable {
+        MemoizedInvocation memoized = new MemoizedInvocation(counting, new BoundedCache<>(16, new CacheStats()), TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        Thread.sleep(40);
+        assertThat(memoized.invoke("a")).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheRedirectedMasterResult() throws Throwable {
+        StrategyLimiter limiter = new StrategyLimiter(0, 1, 1, 0, true);
+        AtomicInteger masterCalls = new AtomicInteger();
+        Invocation master = invocation("master", () -> -masterCalls.incrementAndGet());
+        MemoizedInvocation memoized = new MemoizedInvocation(new LimitedInvocation(counting, limiter, master, null),
+                new BoundedCache<>(16, new CacheStats()), 0);
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        // 令牌耗尽，改由主干执行且不写入缓存
+        assertThat(memoized.invoke("b")).isEqualTo(-1);
+        assertThat(memoized.invoke("b")).isEqualTo(-2);
+        // 命中缓存不消耗令牌
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheResultRedirectedByInnerLimit() throws Throwable {
+        // 分支限制改由主干执行，外层routeKey限制不改由主干执行
+        StrategyLimiter branchLimiter = new StrategyLimiter(0, 1, 1, 0, true);
+        StrategyLimiter routeKeyLimiter = new StrategyLimiter(4, 0, 1, 0, false);
+        AtomicInteger masterCalls = new AtomicInteger();
+        Invocation master = invocation("master", () -> -masterCalls.incrementAndGet());
+        LimitedInvocation limited = new LimitedInvocation(new LimitedInvocation(counting, branchLimiter, master, null), routeKeyLimiter, master, null);
+        MemoizedInvocation memoized = new MemoizedInvocation(limited, new BoundedCache<>(16, new CacheStats()), 0);
+        assertThat(memoized.invoke("a")).isEqualTo(1);
+        assertThat(memoized.invoke("b")).isEqualTo(-1);
+        assertThat(memoized.invoke("b")).isEqualTo(-2);
+        assertThat(limited.invoke("c")).isEqualTo(-3);
+        assertThat(routeKeyLimiter.getConcurrentCalls()).isZero();
+    }
+
+    @Test
+    void concurrentCallsSeeOneValuePerKey() throws Exception {
+        BoundedCache<Object, MemoizedInvocation.Entry> cache = new BoundedCache<>(64, new CacheStats());
+        MemoizedInvocation memoized = new MemoizedInvocation(invocation("branch", () -> "v"), cache, 0);
+        runConcurrently(8, 10_000, () -> {
+            int key = (int) (Thread.currentThread().getId() % 128);
+            assertThat(invoke(memoized, key)).isEqualTo("v");
+        });
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+    }
+}
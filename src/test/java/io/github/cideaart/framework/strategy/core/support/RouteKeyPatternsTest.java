@@ -0,0 +1,135 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranchPrimary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.invocation;
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link RouteKeyPatterns}的通配匹配与优先级
+ *
+ * @author CIdea
+ */
+class RouteKeyPatternsTest {
+
+    @Test
+    void matchesWildcards() {
+        RouteKeyPatterns patterns = patterns("order-*", "?x", "路由*");
+        assertThat(bean(patterns.match("order-1"))).isEqualTo("order-*");
+        assertThat(bean(patterns.match("order-"))).isEqualTo("order-*");
+        assertThat(bean(patterns.match("ax"))).isEqualTo("?x");
+        assertThat(bean(patterns.match("路由键"))).isEqualTo("路由*");
+        assertThat(patterns.match("order")).isNull();
+        assertThat(patterns.match("abx")).isNull();
+        assertThat(patterns.match("x")).isNull();
+    }
+
+    @Test
+    void prefersPatternWithMoreLiterals() {
+        RouteKeyPatterns patterns = patterns("order-*", "order-vip-*", "*");
+        assertThat(bean(patterns.match("order-vip-1"))).isEqualTo("order-vip-*");
+        assertThat(bean(patterns.match("order-1"))).isEqualTo("order-*");
+        assertThat(bean(patterns.match("other"))).isEqualTo("*");
+    }
+
+    @Test
+    void prefersPrimaryBranch() {
+        Map<String, Invocation[]> branches = new LinkedHashMap<>();
+        branches.put("order-vip-*", new Invocation[]{invocation("order-vip-*")});
+        branches.put("order-*", new Invocation[]{invocation(new PrimaryBranch())});
+        RouteKeyPatterns patterns = new RouteKeyPatterns(branches, new CacheStats());
+        assertThat(patterns.match("order-vip-1")[0].getBean()).isInstanceOf(PrimaryBranch.class);
+    }
+
+    /**
+     * 随机模式、routeKey与正则表达式的结果比较
+     */
+    @Test
+    void agreesWithRegularExpressions() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            Map<String, Invocation[]> branches = new LinkedHashMap<>();
+            int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                String pattern = generate(random, true);
+                if (!RouteKeyPatterns.isPattern(pattern)) {
+                    pattern += "*";
+                }
+                branches.put(pattern, new Invocation[]{invocation(pattern)});
+            }
+            RouteKeyPatterns patterns = new RouteKeyPatterns(branches, new CacheStats());
+            for (int k = 0; k < 200; k++) {
+                String routeKey = generate(random, false);
+                boolean expected = branches.keySet().stream().anyMatch(pattern -> routeKey.matches(regex(pattern)));
+                Invocation[] matched = patterns.match(routeKey);
+                assertThat(matched != null).as("routeKey `%s` in %s", routeKey, branches.keySet()).isEqualTo(expected);
+                if (matched != null) {
+                    assertThat(routeKey).matches(regex(bean(matched)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void concurrentMatchesAreConsistent() throws Exception {
+        RouteKeyPatterns patterns = patterns("a*", "a?c*", "*z");
+        runConcurrently(8, 20_000, () -> {
+            String routeKey = "a" + (char) ('a' + ThreadLocalRandom.current().nextInt(4)) + "c" + ThreadLocalRandom.current().nextInt(1_000);
+            assertThat(bean(patterns.match(routeKey))).isEqualTo("a?c*");
+            assertThat(bean(patterns.match("b" + routeKey + "z"))).isEqualTo("*z");
+        });
+    }
+
+    @Test
+    void countsMatchesInOwnStats() {
+        CacheStats stats = new CacheStats();
+        long sharedHits = StrategyCache.stats().getHitCount();
+        long sharedMisses = StrategyCache.stats().getMissCount();
+        RouteKeyPatterns patterns = new RouteKeyPatterns(Collections.singletonMap("a*", new Invocation[]{invocation("a*")}), stats);
+        assertThat(bean(patterns.match("ab"))).isEqualTo("a*");
+        assertThat(bean(patterns.match("ab"))).isEqualTo("a*");
+        assertThat(patterns.match("b")).isNull();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(StrategyCache.stats().getHitCount()).isEqualTo(sharedHits);
+        assertThat(StrategyCache.stats().getMissCount()).isEqualTo(sharedMisses);
+    }
+
+    private static RouteKeyPatterns patterns(String... patterns) {
+        Map<String, Invocation[]> branches = new LinkedHashMap<>();
+        for (String pattern : patterns) {
+            branches.put(pattern, new Invocation[]{invocation(pattern)});
+        }
+        return new RouteKeyPatterns(branches, new CacheStats());
+    }
+
+    private static String bean(Invocation[] invocations) {
+        return invocations == null ? null : (String) invocations[0].getBean();
+    }
+
+    private static String regex(String pattern) {
+        return pattern.replace("?", ".").replace("*", ".*");
+    }
+
+    private static String generate(Random random, boolean pattern) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            int x = random.nextInt(pattern ? 6 : 3);
+            builder.append(x == 3 || x == 4 ? '*' : x == 5 ? '?' : (char) ('a' + x));
+        }
+        return builder.toString();
+    }
+
+    @StrategyBranchPrimary
+    private static class PrimaryBranch {
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyRouteKey;
+import io.github.cideaart.framework.strategy.fixture.Invoice;
+import io.github.cideaart.framework.strategy.fixture.Level;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link RouteKeyResolver}的声明解析和取值
+ *
+ * @author CIdea
+ */
+class RouteKeyResolverTest {
+
+    @Test
+    void parameterAnnotationTakesPrecedence() throws NoSuchMethodException {
+        assertThat(resolver(Declared.class, "byPath", Invoice.class)).hasToString("[0].tenant");
+        assertThat(resolver(Declared.class, "byParameter", String.class, String.class)).hasToString("[1]");
+        assertThat(resolver(Declared.class, "byApi", Invoice.class)).hasToString("[0].tenant");
+        assertThat(resolver(Undeclared.class, "undeclared", String.class)).isNull();
+    }
+
+    @Test
+    void resolvesStringsEnumsAndOtherValues() throws NoSuchMethodException {
+        RouteKeyResolver byPath = resolver(Declared.class, "byPath", Invoice.class);
+        RouteKeyResolver byParameter = resolver(Declared.class, "byParameter", String.class, String.class);
+        RouteKeyResolver byEnum = resolver(Declared.class, "byEnum", Level.class);
+        RouteKeyResolver byNumber = resolver(Declared.class, "byNumber", int.class);
+        // 首次执行后编译，结果与解释执行一致
+        for (int i = 0; i < 3; i++) {
+            assertThat(byPath.resolve(new Object[]{new Invoice("acme")})).isEqualTo("acme");
+            assertThat(byPath.resolve(new Object[]{new Invoice(null)})).isNull();
+            assertThat(byParameter.resolve(new Object[]{"id", "acme"})).isEqualTo("acme");
+            assertThat(byParameter.resolve(new Object[]{"id", null})).isNull();
+            assertThat(byEnum.resolve(new Object[]{Level.HIGH})).isEqualTo("HIGH");
+            assertThat(byNumber.resolve(new Object[]{42})).isEqualTo("42");
+        }
+    }
+
+    private static RouteKeyResolver resolver(Class<?> api, String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = api.getMethod(name, parameterTypes);
+        return RouteKeyResolver.forMethod(api, method);
+    }
+
+    @StrategyAPI(routeKey = "[0].tenant")
+    public interface Declared {
+
+        String byApi(Invoice invoice);
+
+        String byPath(@StrategyRouteKey("tenant") Invoice invoice);
+
+        String byParameter(String id, @StrategyRouteKey String tenant);
+
+        String byEnum(@StrategyRouteKey Level level);
+
+        String byNumber(@StrategyRouteKey int code);
+    }
+
+    @StrategyAPI
+    public interface Undeclared {
+
+        String undeclared(String id);
+    }
+}
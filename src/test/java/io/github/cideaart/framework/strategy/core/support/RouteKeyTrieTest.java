@@ -0,0 +1,53 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.invocation;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link RouteKeyTrie}的最长前缀匹配
+ *
+ * @author CIdea
+ */
+class RouteKeyTrieTest {
+
+    private final Invocation cn = invocation("cn");
+
+    private final Invocation cnSh = invocation("cn.sh");
+
+    private final RouteKeyTrie trie;
+
+    RouteKeyTrieTest() {
+        Map<String, Invocation[]> branches = new HashMap<>();
+        branches.put("cn", new Invocation[]{cn, cn});
+        // 第二个方法未实现
+        branches.put("cn.sh", new Invocation[]{cnSh, null});
+        trie = new RouteKeyTrie(branches, '.');
+    }
+
+    @Test
+    void matchesLongestPrefix() {
+        assertThat(trie.match("cn.sh.pudong", 0)).isSameAs(cnSh);
+        assertThat(trie.match("cn.sh", 0)).isSameAs(cnSh);
+        assertThat(trie.match("cn.bj", 0)).isSameAs(cn);
+        assertThat(trie.match("cn", 0)).isSameAs(cn);
+    }
+
+    @Test
+    void matchesOnlyAtSeparatorBoundary() {
+        assertThat(trie.match("cnx", 0)).isNull();
+        assertThat(trie.match("cn.shx", 0)).isSameAs(cn);
+        assertThat(trie.match("c", 0)).isNull();
+        assertThat(trie.match("us.ny", 0)).isNull();
+        assertThat(trie.match("", 0)).isNull();
+    }
+
+    @Test
+    void fallsBackToShorterPrefixWhenMethodMissing() {
+        assertThat(trie.match("cn.sh.pudong", 1)).isSameAs(cn);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@link StrategyCache}的未匹配routeKeys缓存
+ *
+ * @author CIdea
+ */
+class StrategyCacheTest {
+
+    private static final Method METHOD;
+
+    static {
+        try {
+            METHOD = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void masterRouteRequiresEveryKey() {
+        assertThat(StrategyCache.isMasterRoute(new String[]{"a"}, MasterRouteApi.class, METHOD)).isFalse();
+        StrategyCache.cacheMasterRoute(new String[]{"a", null, "b"}, MasterRouteApi.class, METHOD);
+        assertThat(StrategyCache.isMasterRoute(new String[]{"a", "b"}, MasterRouteApi.class, METHOD)).isTrue();
+        assertThat(StrategyCache.isMasterRoute(new String[]{"b", null, "a"}, MasterRouteApi.class, METHOD)).isTrue();
+        assertThat(StrategyCache.isMasterRoute(new String[]{"b"}, MasterRouteApi.class, METHOD)).isTrue();
+        assertThat(StrategyCache.isMasterRoute(new String[]{"a", "c"}, MasterRouteApi.class, METHOD)).isFalse();
+    }
+
+    @Test
+    void multiKeyLookupDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        String[] keys = {"tenant", "channel", "region"};
+        StrategyCache.cacheMasterRoute(keys, AllocationApi.class, METHOD);
+        for (int i = 0; i < 200_000; i++) {
+            StrategyCache.isMasterRoute(keys, AllocationApi.class, METHOD);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            StrategyCache.isMasterRoute(keys, AllocationApi.class, METHOD);
+        }
+        assertThat(threadMXBean.getThreadAllocatedBytes(threadId) - before).isLessThanOrEqualTo(1024);
+    }
+
+    private interface MasterRouteApi {
+    }
+
+    private interface AllocationApi {
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StrategyCircuitBreaker}的状态转换
+ *
+ * @author CIdea
+ */
+class StrategyCircuitBreakerTest {
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(50, 10, 10, 60_000);
+        for (int i = 0; i < 5; i++) {
+            breaker.onSuccess();
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(-1);
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(50, 4, 4, 60_000);
+        breaker.onFailure();
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess();
+        }
+        assertThat(breaker.getFailureRate()).isZero();
+        breaker.onFailure();
+        assertThat(breaker.getFailureRate()).isEqualTo(25);
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void onlyOneCallProbesAfterWaitDuration() throws Exception {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(100, 1, 1, 0);
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.OPEN);
+        AtomicInteger probes = new AtomicInteger();
+        runConcurrently(8, 100, () -> {
+            if (breaker.tryAcquire()) {
+                probes.incrementAndGet();
+            }
+        });
+        assertThat(probes.get()).isEqualTo(1);
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void probeResultClosesOrReopens() {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(100, 1, 1, 0);
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(-1);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void unrecordedProbeReopensAfterTrialTimeout() throws Exception {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(100, 1, 1, 0, 50);
+        breaker.onFailure();
+        // 试探调用不记录结果，如永不完成的future
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.HALF_OPEN);
+
+        Thread.sleep(100);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.OPEN);
+        // 熔断到期后放行新的试探
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void trialTimeoutIsAtLeastWaitDuration() {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(100, 1, 1, 0);
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isTrue();
+        // 熔断持续时间为0时试探期限取最小值，不会立即放行下一次试探
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void concurrentFailuresOpenOnce() throws Exception {
+        StrategyCircuitBreaker breaker = new StrategyCircuitBreaker(50, 100, 20, 60_000);
+        runConcurrently(8, 1_000, () -> {
+            if (breaker.tryAcquire()) {
+                breaker.onFailure();
+            }
+        });
+        assertThat(breaker.getState()).isEqualTo(StrategyCircuitBreaker.State.OPEN);
+        assertThat(breaker.getFailureRate()).isBetween(0f, 100f);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.core.exception.StrategyRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link StrategyLimiter}、{@link LimitedInvocation}的并发限制
+ *
+ * @author CIdea
+ */
+class StrategyLimiterTest {
+
+    @Test
+    void bulkheadNeverExceedsMaxConcurrentCalls() throws Exception {
+        StrategyLimiter limiter = new StrategyLimiter(4, 0, 1, 0, false);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        runConcurrently(16, 2_000, () -> {
+            if (limiter.tryAcquire()) {
+                try {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.yield();
+                } finally {
+                    active.decrementAndGet();
+                    limiter.release();
+                }
+            }
+        });
+        assertThat(maxActive.get()).isBetween(1, 4);
+        assertThat(limiter.getConcurrentCalls()).isZero();
+    }
+
+    @Test
+    void rateLimitAllowsBurstThenRejects() throws Exception {
+        StrategyLimiter limiter = new StrategyLimiter(0, 1, 5, 0, false);
+        AtomicInteger acquired = new AtomicInteger();
+        runConcurrently(8, 10, () -> {
+            if (limiter.tryAcquire()) {
+                acquired.incrementAndGet();
+            }
+        });
+        assertThat(acquired.get()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectedCallsFallBackToMaster() throws Throwable {
+        StrategyLimiter limiter = new StrategyLimiter(2, 0, 1, 0, true);
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch finish = new CountDownLatch(1);
+        LimitedInvocation invocation = new LimitedInvocation(invocation("branch", () -> {
+            entered.countDown();
+            finish.await();
+            return "branch";
+        }), limiter, invocation("master", () -> "master"), null);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> invoke(invocation));
+            Future<?> second = executor.submit(() -> invoke(invocation));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(invocation.invoke()).isEqualTo("master");
+            finish.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("branch");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("branch");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(invocation.invoke()).isEqualTo("branch");
+        assertThat(limiter.getConcurrentCalls()).isZero();
+    }
+
+    @Test
+    void timedOutBranchHoldsPermitUntilItFinishes() throws Throwable {
+        StrategyLimiter limiter = new StrategyLimiter(1, 0, 1, 50, false);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            LimitedInvocation invocation = new LimitedInvocation(invocation("branch", () -> {
+                while (true) {
+                    try {
+                        finish.await();
+                        return "branch";
+                    } catch (InterruptedException e) {
+                        // 忽略中断，模拟不响应取消的分支
+                    }
+                }
+            }), limiter, null, executor);
+            assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class).hasMessageContaining("timeout");
+            assertThat(limiter.getConcurrentCalls()).isEqualTo(1);
+            assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class).hasMessageContaining("limit exceeded");
+            finish.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (limiter.getConcurrentCalls() != 0 && System.nanoTime() - deadline < 0) {
+                Thread.sleep(1);
+            }
+            assertThat(limiter.getConcurrentCalls()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executorRejectionReleasesPermit() {
+        StrategyLimiter limiter = new StrategyLimiter(1, 0, 1, 50, false);
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException();
+        };
+        LimitedInvocation invocation = new LimitedInvocation(invocation("branch", () -> "branch"), limiter, null, rejecting);
+        assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class).hasMessageContaining("executor rejected");
+        assertThat(limiter.getConcurrentCalls()).isZero();
+    }
+
+    @Test
+    void asyncBranchHoldsPermitUntilFutureCompletes() throws Throwable {
+        StrategyLimiter limiter = new StrategyLimiter(1, 0, 1, 0, false);
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        LimitedInvocation invocation = new LimitedInvocation(invocation("branch", () -> pending), limiter, null, null);
+        assertThat(invocation.invoke()).isSameAs(pending);
+        assertThat(limiter.getConcurrentCalls()).isEqualTo(1);
+        assertThatThrownBy(invocation::invoke).isInstanceOf(StrategyRejectedException.class);
+        pending.complete("done");
+        assertThat(limiter.getConcurrentCalls()).isZero();
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import io.github.cideaart.framework.strategy.fixture.FixedPayService;
+import io.github.cideaart.framework.strategy.fixture.IPayService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 运行时注册、注销分支，调整分流权重和配置路由映射
+ * 与其它测试共用容器，测试结束时恢复注册表
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyRegistryTest {
+
+    @Autowired
+    private StrategyRegistry registry;
+
+    @Autowired
+    private IPayService payService;
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void hotReloadIsVisibleToConcurrentCallers() throws Exception {
+        long version = registry.getVersion();
+        AtomicBoolean stopped = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] readers = new Future<?>[4];
+            for (int t = 0; t < readers.length; t++) {
+                readers[t] = executor.submit(() -> {
+                    while (!stopped.get()) {
+                        // 只可能是注册前或注册后的分支
+                        assertThat(payService.pay("wechat", 10)).isIn(10, 12);
+                        assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(11);
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; i < 200; i++) {
+                FixedPayService branch = new FixedPayService(2);
+                registry.registerBranch(branch, "wechat");
+                assertThat(payService.pay("wechat", 10)).isEqualTo(12);
+                assertThat(registry.unregisterBranch(branch)).isTrue();
+                assertThat(payService.pay("wechat", 10)).isEqualTo(10);
+            }
+            stopped.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            stopped.set(true);
+            executor.shutdownNow();
+        }
+        assertThat(registry.getVersion()).isEqualTo(version + 400);
+    }
+
+    @Test
+    void splitsTrafficByRegisteredWeights() {
+        FixedPayService stable = new FixedPayService(2);
+        FixedPayService canary = new FixedPayService(3);
+        try {
+            registry.registerBranch(stable, 90, "canary");
+            registry.registerBranch(canary, 10, "canary");
+            assertThat(countCanaryCalls()).isBetween(1_600, 2_400);
+
+            registry.setBranchWeight(canary, "canary", 90);
+            assertThat(countCanaryCalls()).isBetween(9_000, 11_000);
+
+            registry.setBranchWeight(stable, "canary", 0);
+            assertThat(countCanaryCalls()).isEqualTo(20_000);
+        } finally {
+            registry.unregisterBranch(stable);
+            registry.unregisterBranch(canary);
+        }
+        assertThat(payService.pay("canary", 0)).isZero();
+    }
+
+    @Test
+    void conflictingRegistrationLeavesRegistryUnchanged() {
+        long version = registry.getVersion();
+        assertThatThrownBy(() -> registry.registerBranch(new FixedPayService(2), TestApplication.BRANCH_KEY))
+                .hasMessageContaining("conflict");
+        assertThat(registry.getVersion()).isEqualTo(version);
+        assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(11);
+    }
+
+    @Test
+    void configuredRoutesReplaceDeclaredKeys() {
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addFirst(new MapPropertySource("routes", Collections.singletonMap("cidea.strategy.routes.alipayPayService", "zfb,ali")));
+        try {
+            registry.refreshRoutes();
+            assertThat(payService.pay("zfb", 10)).isEqualTo(11);
+            assertThat(payService.pay("ali", 10)).isEqualTo(11);
+            assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(10);
+        } finally {
+            propertySources.remove("routes");
+            registry.refreshRoutes();
+        }
+        assertThat(payService.pay("zfb", 10)).isEqualTo(10);
+        assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(11);
+    }
+
+    @Test
+    void invalidRoutesKeepCurrentMapping() {
+        long version = registry.getVersion();
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addFirst(new MapPropertySource("routes", Collections.singletonMap("cidea.strategy.routes.missingPayService", "zfb")));
+        try {
+            assertThatThrownBy(registry::refreshRoutes).isInstanceOf(NoSuchBeanDefinitionException.class);
+        } finally {
+            propertySources.remove("routes");
+        }
+        assertThat(registry.getVersion()).isEqualTo(version);
+        assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(11);
+    }
+
+    @Test
+    void environmentChangeEventRefreshesRoutes() {
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addFirst(new MapPropertySource("routes", Collections.singletonMap("cidea.strategy.routes.alipayPayService", "zfb")));
+        try {
+            // 变更的key与路由无关时不刷新
+            applicationContext.publishEvent(new EnvironmentChangeEvent(applicationContext, Collections.singleton("server.port")));
+            assertThat(payService.pay("zfb", 10)).isEqualTo(10);
+
+            applicationContext.publishEvent(new EnvironmentChangeEvent(applicationContext,
+                    Collections.singleton("cidea.strategy.routes.alipayPayService[0]")));
+            assertThat(payService.pay("zfb", 10)).isEqualTo(11);
+        } finally {
+            propertySources.remove("routes");
+            registry.refreshRoutes();
+        }
+        assertThat(payService.pay("zfb", 10)).isEqualTo(10);
+    }
+
+    @Test
+    void invalidRoutesOnEnvironmentChangeEventAreLogged() {
+        long version = registry.getVersion();
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addFirst(new MapPropertySource("routes", Collections.singletonMap("cidea.strategy.routes.missingPayService", "zfb")));
+        try {
+            // 异常不抛给发布事件的线程
+            applicationContext.publishEvent(new EnvironmentChangeEvent(applicationContext,
+                    Collections.singleton("cidea.strategy.routes.missingPayService[0]")));
+        } finally {
+            propertySources.remove("routes");
+        }
+        assertThat(registry.getVersion()).isEqualTo(version);
+        assertThat(payService.pay(TestApplication.BRANCH_KEY, 10)).isEqualTo(11);
+    }
+
+    private int countCanaryCalls() {
+        int canaryCalls = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (payService.pay("canary", 0) == 3) {
+                canaryCalls++;
+            }
+        }
+        return canaryCalls;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+
+/**
+ * 测试使用的执行对象和并发执行工具
+ *
+ * @author CIdea
+ */
+final class TestSupport {
+
+    private static final Method METHOD;
+
+    static {
+        try {
+            METHOD = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private TestSupport() {
+    }
+
+    /**
+     * 以bean标识的执行对象，执行时调用body
+     */
+    static Invocation invocation(Object bean, Callable<Object> body) {
+        return new Invocation(METHOD, bean) {
+            @Override
+            public Object invoke(Object... args) throws Throwable {
+                return body.call();
+            }
+        };
+    }
+
+    /**
+     * 返回bean本身的执行对象
+     */
+    static Invocation invocation(Object bean) {
+        return invocation(bean, () -> bean);
+    }
+
+    /**
+     * 多个线程同时开始，各自执行action指定次数，任一线程失败时抛出异常
+     */
+    static void runConcurrently(int threads, int iterations, ThrowingRunnable action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    barrier.await();
+                    for (int i = 0; i < iterations; i++) {
+                        action.run();
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static Object invoke(Invocation invocation, Object... args) throws Exception {
+        try {
+            return invocation.invoke(args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+}
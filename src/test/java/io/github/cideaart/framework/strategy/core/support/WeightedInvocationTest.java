@@ -0,0 +1,58 @@
+package io.github.cideaart.framework.strategy.core.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.invocation;
+import static io.github.cideaart.framework.strategy.core.support.TestSupport.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link WeightedInvocation}的权重分流
+ *
+ * @author CIdea
+ */
+class WeightedInvocationTest {
+
+    private final Invocation stable = invocation("stable");
+
+    private final Invocation canary = invocation("canary");
+
+    @Test
+    void splitsTrafficByWeight() throws Exception {
+        WeightedInvocation weighted = new WeightedInvocation(new Invocation[]{stable, canary}, new int[]{90, 10});
+        AtomicInteger canaryCalls = new AtomicInteger();
+        runConcurrently(4, 25_000, () -> {
+            if (weighted.next() == canary) {
+                canaryCalls.incrementAndGet();
+            }
+        });
+        // 10%，允许±1%
+        assertThat(canaryCalls.get()).isBetween(9_000, 11_000);
+    }
+
+    @Test
+    void stickySelectionIsStableAndWeighted() {
+        WeightedInvocation weighted = new WeightedInvocation(new Invocation[]{stable, canary}, new int[]{50, 50});
+        int canaryCalls = 0;
+        for (int hash = 0; hash < 10_000; hash++) {
+            Invocation selected = weighted.selectSticky(hash);
+            assertThat(weighted.selectSticky(hash)).isSameAs(selected);
+            if (selected == canary) {
+                canaryCalls++;
+            }
+        }
+        // 相邻hash被打散，不会全部落在同一分支
+        assertThat(canaryCalls).isBetween(4_000, 6_000);
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThatThrownBy(() -> new WeightedInvocation(new Invocation[]{stable, canary}, new int[]{1, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WeightedInvocation(new Invocation[]{stable, canary}, new int[]{1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.cideaart.framework.strategy.core.template;
+
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import io.github.cideaart.framework.strategy.fixture.AcmeLedgerService;
+import io.github.cideaart.framework.strategy.fixture.ILedgerService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link StrategyBatchTemplate}按routeKey分组调用批量方法并按入参顺序重组结果
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyBatchTemplateTest {
+
+    private static final Function<String, String> TENANT = entry -> entry.contains(":") ? entry.substring(0, entry.indexOf(':')) : null;
+
+    private static final List<String> ENTRIES = Arrays.asList("acme:1", "globex:2", "other:3", "acme-eu:4", "4", "globex:5", "acme:6");
+
+    private static final List<String> EXPECTED = Arrays.asList("acme/acme:1", "globex/globex:2", "master/other:3",
+            "acme/acme-eu:4", "master/4", "globex/globex:5", "acme/acme:6");
+
+    @Autowired
+    private StrategyRegistry registry;
+
+    @Autowired
+    private AcmeLedgerService acmeLedgerService;
+
+    @BeforeEach
+    void reset() {
+        acmeLedgerService.reset();
+    }
+
+    @Test
+    void groupsByBranchAndKeepsInputOrder() {
+        StrategyBatchTemplate template = new StrategyBatchTemplate(registry);
+        List<String> results = template.invoke(ILedgerService.class, "postAll", ENTRIES, TENANT);
+
+        assertThat(results).containsExactlyElementsOf(EXPECTED);
+        // 同一分支的多个routeKey合并为一次调用，组内保持入参顺序
+        assertThat(acmeLedgerService.getCalls()).containsExactly(Arrays.asList("acme:1", "acme-eu:4", "acme:6"));
+        assertThat(template.<String, String>invoke(ILedgerService.class, "postAll", Collections.emptyList(), TENANT)).isEmpty();
+    }
+
+    @Test
+    void unmatchedInputsGoToMaster() {
+        List<String> results = new StrategyBatchTemplate(registry)
+                .invoke(ILedgerService.class, "postAll", Arrays.asList("x:1", "2"), TENANT);
+
+        assertThat(results).containsExactly("master/x:1", "master/2");
+        assertThat(acmeLedgerService.getCalls()).isEmpty();
+    }
+
+    @Test
+    void invokesGroupsInParallel() {
+        AtomicInteger submitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            StrategyBatchTemplate template = new StrategyBatchTemplate(registry);
+            template.setParallel(true);
+            template.setExecutor(command -> {
+                submitted.incrementAndGet();
+                executor.execute(command);
+            });
+            List<String> results = template.invoke(ILedgerService.class, "postAll", ENTRIES, TENANT);
+
+            assertThat(results).containsExactlyElementsOf(EXPECTED);
+            // 3个分组，调用线程执行其中一组
+            assertThat(submitted).hasValue(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsResultsOfDifferentSize() {
+        StrategyBatchTemplate template = new StrategyBatchTemplate(registry);
+        assertThatThrownBy(() -> template.invoke(ILedgerService.class, "truncateAll", ENTRIES, TENANT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("same size");
+
+        template.setParallel(true);
+        assertThatThrownBy(() -> template.invoke(ILedgerService.class, "truncateAll", ENTRIES, TENANT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("same size");
+        assertThatThrownBy(() -> template.invoke(ILedgerService.class, "missingAll", ENTRIES, TENANT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.cideaart.framework.strategy.core.template;
+
+import io.github.cideaart.framework.strategy.core.support.StrategyRegistry;
+import io.github.cideaart.framework.strategy.fixture.CanaryARateService;
+import io.github.cideaart.framework.strategy.fixture.CanaryBRateService;
+import io.github.cideaart.framework.strategy.fixture.DefaultRateService;
+import io.github.cideaart.framework.strategy.fixture.FailingRateService;
+import io.github.cideaart.framework.strategy.fixture.FastRateService;
+import io.github.cideaart.framework.strategy.fixture.IRateService;
+import io.github.cideaart.framework.strategy.fixture.SlowRateService;
+import io.github.cideaart.framework.strategy.fixture.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link StrategyBroadcastTemplate}并行调用全部分支，超时和失败的分支不影响其它结果
+ *
+ * @author CIdea
+ */
+@SpringBootTest(classes = TestApplication.class)
+class StrategyBroadcastTemplateTest {
+
+    @Autowired
+    private StrategyRegistry registry;
+
+    @Autowired
+    private SlowRateService slowRateService;
+
+    private ExecutorService executor;
+
+    private StrategyBroadcastTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        slowRateService.reset();
+        executor = Executors.newCachedThreadPool();
+        template = new StrategyBroadcastTemplate(registry);
+        template.setExecutor(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRateService.release();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void timedOutAndFailedBranchesKeepOtherResults() {
+        template.setTimeout(Duration.ofMillis(200));
+        StrategyBroadcastResult<Integer> result = template.broadcast(IRateService.class, "rate", "CNY");
+
+        Function<StrategyBroadcastResult.Outcome<Integer>, Object> beanClass = outcome -> outcome.getBean().getClass();
+        // 多个routeKey、权重组成员与单独注册的同一bean只调用一次
+        assertThat(result.getOutcomes()).extracting(beanClass).containsExactlyInAnyOrder(FastRateService.class,
+                SlowRateService.class, FailingRateService.class, CanaryARateService.class, CanaryBRateService.class);
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getValues()).containsExactlyInAnyOrder(1, 3, 4);
+        assertThat(result.<Optional<Integer>>reduce(Collectors.maxBy(Integer::compare))).contains(4);
+
+        StrategyBroadcastResult.Outcome<Integer> slow = outcome(result, SlowRateService.class);
+        assertThat(slow.isTimeout()).isTrue();
+        assertThat(slow.isSuccess()).isFalse();
+        StrategyBroadcastResult.Outcome<Integer> failing = outcome(result, FailingRateService.class);
+        assertThat(failing.isTimeout()).isFalse();
+        assertThat(failing.getError()).isInstanceOf(IllegalStateException.class).hasMessage("rate unavailable");
+        assertThat(result.getOutcomes()).noneMatch(StrategyBroadcastResult.Outcome::isMaster);
+    }
+
+    @Test
+    void waitsForAllBranchesWithoutTimeout() throws Exception {
+        template.setIncludeMaster(true);
+        executor.execute(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowRateService.release();
+        });
+        StrategyBroadcastResult<Integer> result = template.broadcast(IRateService.class, "rate", "CNY");
+
+        assertThat(result.getValues()).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+        StrategyBroadcastResult.Outcome<Integer> master = outcome(result, DefaultRateService.class);
+        assertThat(master.isMaster()).isTrue();
+        assertThat(master.getValue()).isZero();
+        // 只有失败的分支
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getOutcomes()).filteredOn(outcome -> !outcome.isSuccess())
+                .extracting(outcome -> (Object) outcome.getBean().getClass()).containsExactly(FailingRateService.class);
+    }
+
+    @Test
+    void rejectsUnknownMethods() {
+        assertThatThrownBy(() -> template.broadcast(IRateService.class, "rate"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("can not find method");
+    }
+
+    private static StrategyBroadcastResult.Outcome<Integer> outcome(StrategyBroadcastResult<Integer> result, Class<?> beanClass) {
+        return result.getOutcomes().stream()
+                .filter(outcome -> outcome.getBean().getClass() == beanClass)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no outcome of " + beanClass));
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch({"acme", "HIGH"})
+public class AcmeInvoiceService implements IInvoiceService {
+
+    @Override
+    public String issue(Invoice invoice) {
+        return "acme";
+    }
+
+    @Override
+    public String cancel(String invoiceId, String tenant) {
+        return "acme";
+    }
+
+    @Override
+    public String level(Level level) {
+        return "acme";
+    }
+}
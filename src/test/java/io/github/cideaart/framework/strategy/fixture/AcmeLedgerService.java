@@ -0,0 +1,37 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 记录每次批量调用的入参
+ *
+ * @author CIdea
+ */
+@StrategyBranch({"acme", "acme-eu"})
+public class AcmeLedgerService implements ILedgerService {
+
+    private final List<List<String>> calls = new ArrayList<>();
+
+    @Override
+    public synchronized List<String> postAll(List<String> entries) {
+        calls.add(new ArrayList<>(entries));
+        return entries.stream().map(entry -> "acme/" + entry).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> truncateAll(List<String> entries) {
+        return entries.subList(0, entries.size() - 1);
+    }
+
+    public synchronized List<List<String>> getCalls() {
+        return new ArrayList<>(calls);
+    }
+
+    public synchronized void reset() {
+        calls.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("acme")
+public class AcmeReactiveQuoteService implements IReactiveQuoteService {
+
+    @Override
+    public Mono<String> quote(String item) {
+        return Mono.just("acme");
+    }
+
+    @Override
+    public Flux<String> quotes(String item) {
+        return Flux.just("acme-1", "acme-2");
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategySingleKeyRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 取首个参数作为routeKey
+ *
+ * @author CIdea
+ */
+@Component
+public class ArgumentRouter implements IStrategySingleKeyRouter {
+
+    @Override
+    public String getRouteKey(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return (String) args[0];
+    }
+}
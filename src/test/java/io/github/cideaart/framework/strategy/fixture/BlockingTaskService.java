@@ -0,0 +1,44 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞到{@link #release()}后返回的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch("blocking")
+public class BlockingTaskService implements ITaskService {
+
+    private volatile CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public CompletableFuture<String> run(String routeKey) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    @Override
+    public String runSync(String routeKey) {
+        return Thread.currentThread().getName();
+    }
+
+    public void release() {
+        latch.countDown();
+    }
+
+    public void reset() {
+        latch = new CountDownLatch(1);
+    }
+}
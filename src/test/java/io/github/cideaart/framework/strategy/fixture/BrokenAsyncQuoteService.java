@@ -0,0 +1,29 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 返回失败结果的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch("broken")
+public class BrokenAsyncQuoteService implements IAsyncQuoteService {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public CompletableFuture<String> quote(String routeKey) {
+        calls.incrementAndGet();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException("broken"));
+        return future;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 总是失败的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch("broken")
+public class BrokenQuoteService implements IQuoteService {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String quote(String routeKey) {
+        calls.incrementAndGet();
+        throw new IllegalStateException("broken");
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订阅时失败的分支，统计订阅次数
+ *
+ * @author CIdea
+ */
+@StrategyBranch("broken")
+public class BrokenReactiveQuoteService implements IReactiveQuoteService {
+
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    @Override
+    public Mono<String> quote(String item) {
+        return Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        });
+    }
+
+    @Override
+    public Flux<String> quotes(String item) {
+        // 发出元素后失败，不再降级
+        return Flux.concat(Flux.just("broken"), Flux.error(new IllegalStateException("down")));
+    }
+
+    public int getSubscriptions() {
+        return subscriptions.get();
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyLimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同时受分支和routeKey限制的分支，记录实际执行次数
+ *
+ * @author CIdea
+ */
+@StrategyBranch("limited-fee")
+@StrategyLimit(maxConcurrentCalls = 4)
+public class CachedFeeService implements IFeeService {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String fee(String routeKey, String item) {
+        calls.incrementAndGet();
+        return "branch:" + item;
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+}
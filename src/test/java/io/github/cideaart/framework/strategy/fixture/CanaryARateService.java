@@ -0,0 +1,18 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * 按权重分流的分支，同时单独注册了routeKey
+ *
+ * @author CIdea
+ */
+@StrategyBranch(value = "canary", weight = 90)
+@StrategyBranch("canary-a")
+public class CanaryARateService implements IRateService {
+
+    @Override
+    public int rate(String currency) {
+        return 3;
+    }
+}
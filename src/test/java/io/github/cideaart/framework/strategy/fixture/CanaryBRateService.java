@@ -0,0 +1,17 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * 按权重分流的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch(value = "canary", weight = 10)
+public class CanaryBRateService implements IRateService {
+
+    @Override
+    public int rate(String currency) {
+        return 4;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("CN")
+public class ChinaRegionService implements IRegionService {
+
+    @Override
+    public String name(Region region) {
+        return "CN";
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultAsyncQuoteService implements IAsyncQuoteService {
+
+    @Override
+    public CompletableFuture<String> quote(String routeKey) {
+        return CompletableFuture.completedFuture("master");
+    }
+}
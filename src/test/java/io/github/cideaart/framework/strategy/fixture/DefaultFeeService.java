@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultFeeService implements IFeeService {
+
+    @Override
+    public String fee(String routeKey, String item) {
+        return "master:" + item;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultGreetingService implements IGreetingService {
+
+    @Override
+    public String greet(String language) {
+        return "hello";
+    }
+}
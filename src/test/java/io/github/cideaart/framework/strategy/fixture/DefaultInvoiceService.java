@@ -0,0 +1,25 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultInvoiceService implements IInvoiceService {
+
+    @Override
+    public String issue(Invoice invoice) {
+        return "master";
+    }
+
+    @Override
+    public String cancel(String invoiceId, String tenant) {
+        return "master";
+    }
+
+    @Override
+    public String level(Level level) {
+        return "master";
+    }
+}
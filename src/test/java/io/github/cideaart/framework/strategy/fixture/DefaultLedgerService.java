@@ -0,0 +1,23 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultLedgerService implements ILedgerService {
+
+    @Override
+    public List<String> postAll(List<String> entries) {
+        return entries.stream().map(entry -> "master/" + entry).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> truncateAll(List<String> entries) {
+        return postAll(entries);
+    }
+}
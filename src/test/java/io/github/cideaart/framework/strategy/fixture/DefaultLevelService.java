@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultLevelService implements ILevelService {
+
+    @Override
+    public String level(Enum<?> level) {
+        return "default";
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultQuoteService implements IQuoteService {
+
+    @Override
+    public String quote(String routeKey) {
+        return "master";
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultReactiveQuoteService implements IReactiveQuoteService {
+
+    @Override
+    public Mono<String> quote(String item) {
+        return Mono.just("master");
+    }
+
+    @Override
+    public Flux<String> quotes(String item) {
+        return Flux.just("master");
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMaster;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author CIdea
+ */
+@StrategyMaster
+public class DefaultTaskService implements ITaskService {
+
+    @Override
+    public CompletableFuture<String> run(String routeKey) {
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    @Override
+    public String runSync(String routeKey) {
+        return Thread.currentThread().getName();
+    }
+}
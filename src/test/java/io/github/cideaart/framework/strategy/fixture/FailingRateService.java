@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("failing")
+public class FailingRateService implements IRateService {
+
+    @Override
+    public int rate(String currency) {
+        throw new IllegalStateException("rate unavailable");
+    }
+}
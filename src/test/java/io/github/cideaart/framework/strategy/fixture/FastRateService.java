@@ -0,0 +1,17 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * 注册了多个routeKey的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch({"fast", "fast-alias"})
+public class FastRateService implements IRateService {
+
+    @Override
+    public int rate(String currency) {
+        return 1;
+    }
+}
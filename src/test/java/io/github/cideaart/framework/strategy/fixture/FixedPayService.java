@@ -0,0 +1,20 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+/**
+ * 运行时注册的分支，不由Spring管理
+ *
+ * @author CIdea
+ */
+public class FixedPayService implements IPayService {
+
+    private final int increment;
+
+    public FixedPayService(int increment) {
+        this.increment = increment;
+    }
+
+    @Override
+    public int pay(String routeKey, int amount) {
+        return amount + increment;
+    }
+}
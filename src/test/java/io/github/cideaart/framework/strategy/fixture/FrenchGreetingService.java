@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("fr")
+public class FrenchGreetingService implements IGreetingService {
+
+    @Override
+    public String greet(String language) {
+        return "bonjour";
+    }
+}
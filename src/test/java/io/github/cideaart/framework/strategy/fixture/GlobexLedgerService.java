@@ -0,0 +1,23 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("globex")
+public class GlobexLedgerService implements ILedgerService {
+
+    @Override
+    public List<String> postAll(List<String> entries) {
+        return entries.stream().map(entry -> "globex/" + entry).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> truncateAll(List<String> entries) {
+        return postAll(entries);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch("HIGH")
+public class HighLevelService implements ILevelService {
+
+    @Override
+    public String level(Enum<?> level) {
+        return "high";
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyFallback;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 返回CompletableFuture的接口API，异步失败计入熔断
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+@StrategyFallback(value = IllegalStateException.class, failureRateThreshold = 50, slidingWindowSize = 4, minimumNumberOfCalls = 4, waitDurationInOpenState = 60_000)
+public interface IAsyncQuoteService {
+
+    CompletableFuture<String> quote(String routeKey);
+}
@@ -0,0 +1,16 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyMemoize;
+
+/**
+ * 缓存结果的接口API，routeKey `limited-fee`在application.properties中限流
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+public interface IFeeService {
+
+    @StrategyMemoize
+    String fee(String routeKey, String item);
+}
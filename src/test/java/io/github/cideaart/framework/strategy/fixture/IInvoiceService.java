@@ -0,0 +1,19 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyRouteKey;
+
+/**
+ * 接口API，声明式路由，不注册路由bean
+ *
+ * @author CIdea
+ */
+@StrategyAPI(routeKey = "[0].tenant")
+public interface IInvoiceService {
+
+    String issue(Invoice invoice);
+
+    String cancel(String invoiceId, @StrategyRouteKey String tenant);
+
+    String level(@StrategyRouteKey Level level);
+}
@@ -0,0 +1,24 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBulk;
+
+import java.util.List;
+
+/**
+ * 批量方法的接口API，入参形如`tenant:id`
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+public interface ILedgerService {
+
+    @StrategyBulk
+    List<String> postAll(List<String> entries);
+
+    /**
+     * 分支返回的结果数量与入参不一致
+     */
+    @StrategyBulk
+    List<String> truncateAll(List<String> entries);
+}
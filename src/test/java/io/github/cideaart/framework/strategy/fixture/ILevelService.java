@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+
+/**
+ * 接口API，枚举路由，参数可为任意枚举
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = LevelRouter.class)
+public interface ILevelService {
+
+    String level(Enum<?> level);
+}
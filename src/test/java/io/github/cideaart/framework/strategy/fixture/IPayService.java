@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+
+/**
+ * 接口API，单routeKey路由
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+public interface IPayService {
+
+    int pay(String routeKey, int amount);
+}
@@ -0,0 +1,16 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyFallback;
+
+/**
+ * 接口API，分支失败时降级到主干
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+@StrategyFallback(value = IllegalStateException.class, failureRateThreshold = 50, slidingWindowSize = 4, minimumNumberOfCalls = 4, waitDurationInOpenState = 60_000)
+public interface IQuoteService {
+
+    String quote(String routeKey);
+}
@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+
+/**
+ * 广播调用的接口API
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ArgumentRouter.class)
+public interface IRateService {
+
+    int rate(String currency);
+}
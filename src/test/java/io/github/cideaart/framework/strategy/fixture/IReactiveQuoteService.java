@@ -0,0 +1,20 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyFallback;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 按Reactor Context路由的API，分支失败时降级
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = TenantReactiveRouter.class)
+@StrategyFallback(value = IllegalStateException.class, failureRateThreshold = 50, slidingWindowSize = 4, minimumNumberOfCalls = 4, waitDurationInOpenState = 60_000)
+public interface IReactiveQuoteService {
+
+    Mono<String> quote(String item);
+
+    Flux<String> quotes(String item);
+}
@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+
+/**
+ * 接口API，枚举路由，层级routeKey
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = RegionRouter.class, keySeparator = "_")
+public interface IRegionService {
+
+    String name(Region region);
+}
@@ -0,0 +1,14 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+
+/**
+ * 接口API，数字路由
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = StatusCodeRouter.class)
+public interface IStatusService {
+
+    String describe(int status);
+}
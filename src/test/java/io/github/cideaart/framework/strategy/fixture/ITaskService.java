@@ -0,0 +1,23 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAPI;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyAsync;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步分派的接口API，返回执行分支的线程名
+ *
+ * @author CIdea
+ */
+@StrategyAPI(router = ThreadRecordingRouter.class)
+@StrategyAsync
+public interface ITaskService {
+
+    CompletableFuture<String> run(String routeKey);
+
+    /**
+     * 同步方法不受{@link StrategyAsync}影响
+     */
+    String runSync(String routeKey);
+}
@@ -0,0 +1,19 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+/**
+ * 声明式路由的参数
+ *
+ * @author CIdea
+ */
+public class Invoice {
+
+    private final String tenant;
+
+    public Invoice(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategySingleKeyRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 取首个参数作为routeKey，只允许按单routeKey调用
+ *
+ * @author CIdea
+ */
+@Component
+public class LanguageRouter implements IStrategySingleKeyRouter {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String getRouteKey(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        calls.incrementAndGet();
+        return (String) args[0];
+    }
+
+    @Override
+    public String[] getRouteKeys(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        throw new UnsupportedOperationException("single key router");
+    }
+
+    public int getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+/**
+ * @author CIdea
+ */
+public enum Level {
+    LOW, HIGH
+}
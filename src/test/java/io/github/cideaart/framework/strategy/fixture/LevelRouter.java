@@ -0,0 +1,27 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategyEnumRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 原始类型的枚举路由，可能返回{@link Level}以外的枚举
+ *
+ * @author CIdea
+ */
+@Component
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class LevelRouter implements IStrategyEnumRouter {
+
+    @Override
+    public Enum getRouteEnum(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return (Enum) args[0];
+    }
+
+    @Override
+    public Class getEnumType() {
+        return Level.class;
+    }
+}
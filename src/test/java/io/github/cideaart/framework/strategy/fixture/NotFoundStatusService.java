@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch(codes = 404)
+public class NotFoundStatusService implements IStatusService {
+
+    @Override
+    public String describe(int status) {
+        return "not found";
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+/**
+ * 与{@link Level}同名常量的ordinal不同
+ *
+ * @author CIdea
+ */
+public enum Priority {
+    LOW, MEDIUM, HIGH
+}
@@ -0,0 +1,10 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+/**
+ * 层级枚举routeKey，以`_`分隔
+ *
+ * @author CIdea
+ */
+public enum Region {
+    CN, CN_SH, CN_SH_PUDONG, CN_BJ, US
+}
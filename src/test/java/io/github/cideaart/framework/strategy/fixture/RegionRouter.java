@@ -0,0 +1,21 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategyEnumRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 取首个参数作为路由枚举
+ *
+ * @author CIdea
+ */
+@Component
+public class RegionRouter implements IStrategyEnumRouter<Region> {
+
+    @Override
+    public Region getRouteEnum(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return (Region) args[0];
+    }
+}
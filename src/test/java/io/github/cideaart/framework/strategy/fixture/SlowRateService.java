@@ -0,0 +1,35 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞到{@link #release()}后返回的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch("slow")
+public class SlowRateService implements IRateService {
+
+    private volatile CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public int rate(String currency) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 2;
+    }
+
+    public void release() {
+        latch.countDown();
+    }
+
+    public void reset() {
+        latch = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 按权重分流的分支
+ *
+ * @author CIdea
+ */
+@StrategyBranch(value = "split", weight = 50)
+public class SplitAReactiveQuoteService implements IReactiveQuoteService {
+
+    @Override
+    public Mono<String> quote(String item) {
+        return Mono.just("split-a");
+    }
+
+    @Override
+    public Flux<String> quotes(String item) {
+        return Flux.just("split-a");
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategyCodeRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 取首个参数作为路由code
+ *
+ * @author CIdea
+ */
+@Component
+public class StatusCodeRouter implements IStrategyCodeRouter {
+
+    @Override
+    public int getRouteCode(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        return (Integer) args[0];
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+
+/**
+ * @author CIdea
+ */
+@StrategyBranch(codes = {200, 204})
+public class SuccessStatusService implements IStatusService {
+
+    @Override
+    public String describe(int status) {
+        return "success";
+    }
+}
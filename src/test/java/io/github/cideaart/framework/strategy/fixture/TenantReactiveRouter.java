@@ -0,0 +1,26 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.reactive.IStrategyReactiveRouter;
+import org.springframework.stereotype.Component;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Method;
+
+/**
+ * 按订阅者Context中的`tenant`（逗号分隔的多个routeKey）路由，`user`作为粘性hash
+ *
+ * @author CIdea
+ */
+@Component
+public class TenantReactiveRouter implements IStrategyReactiveRouter {
+
+    @Override
+    public String[] getRouteKeys(ContextView context, Method method, Object[] args) {
+        return context.<String>getOrEmpty("tenant").map(tenant -> tenant.split(",")).orElse(null);
+    }
+
+    @Override
+    public Integer getStickyHash(ContextView context, Method method, Object[] args) {
+        return context.<Integer>getOrEmpty("user").orElse(null);
+    }
+}
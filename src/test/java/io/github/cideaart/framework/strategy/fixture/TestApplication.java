@@ -0,0 +1,26 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * 测试使用的Spring容器
+ *
+ * @author CIdea
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan
+public class TestApplication {
+
+    /**
+     * 已注册分支的routeKey
+     */
+    public static final String BRANCH_KEY = "alipay";
+
+    /**
+     * 未注册的routeKey，走主干
+     */
+    public static final String UNKNOWN_KEY = "unknown";
+}
@@ -0,0 +1,28 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.IStrategySingleKeyRouter;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 取首个参数作为routeKey，记录执行路由的线程
+ *
+ * @author CIdea
+ */
+@Component
+public class ThreadRecordingRouter implements IStrategySingleKeyRouter {
+
+    private volatile Thread lastThread;
+
+    @Override
+    public String getRouteKey(Object obj, Method method, Object[] args, MethodProxy methodProxy) {
+        lastThread = Thread.currentThread();
+        return (String) args[0];
+    }
+
+    public Thread getLastThread() {
+        return lastThread;
+    }
+}
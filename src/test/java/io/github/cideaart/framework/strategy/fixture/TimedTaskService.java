@@ -0,0 +1,26 @@
+package io.github.cideaart.framework.strategy.fixture;
+
+import io.github.cideaart.framework.strategy.core.annotation.StrategyBranch;
+import io.github.cideaart.framework.strategy.core.annotation.StrategyLimit;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 设置了调用超时的分支，在限流执行器中执行
+ *
+ * @author CIdea
+ */
+@StrategyBranch("timed")
+@StrategyLimit(timeout = 10000)
+public class TimedTaskService implements ITaskService {
+
+    @Override
+    public CompletableFuture<String> run(String routeKey) {
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    @Override
+    public String runSync(String routeKey) {
+        return Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,24 @@
+package org.springframework.cloud.context.environment;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 测试用的Spring Cloud同名事件，组件按类名识别该事件，测试不引入spring-cloud-context
+ *
+ * @author CIdea
+ */
+public class EnvironmentChangeEvent extends ApplicationEvent {
+
+    private final Set<String> keys;
+
+    public EnvironmentChangeEvent(Object context, Set<String> keys) {
+        super(context);
+        this.keys = keys;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+}